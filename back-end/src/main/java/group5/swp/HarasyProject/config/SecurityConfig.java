@@ -14,6 +14,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -34,7 +36,7 @@ public class SecurityConfig {
             "/account/forgotPassword/validateOtp","/account/{id}/forgotPassword","/resend/otp"
     };
     String[] GET_PUBLIC_ENDPOINT ={
-                "/branch/{id}","/branch/{id}/tables","/branch/{id}/menus",
+                "/branch/{id}","/branch/{id}/tables","/branch/{id}/menus","/branch/{id}/availability",
             "/menu/{id}","/food/{id}","/branches/home/**", "/otp","/branch/home/{id}"
     };
     CustomJwtDecoder jwtDecoder;
@@ -57,6 +59,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PUT, "/branch/{id}").hasAnyRole("ADMIN","BRANCH_MANAGER")
                         .requestMatchers(HttpMethod.DELETE, "/branch/{id}","/table/{id}").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST,"/branch/{id}/tables").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST,"/branch/{id}/scheduleExceptions").hasAnyRole("ADMIN","BRANCH_MANAGER")
+                        .requestMatchers(HttpMethod.DELETE,"/scheduleException/{exceptionId}").hasAnyRole("ADMIN","BRANCH_MANAGER")
                         .requestMatchers(HttpMethod.PUT,"/table/{id}").hasAnyRole("BRANCH_MANAGER","RECEPTIONIST","WAITER")
                         .requestMatchers(HttpMethod.POST, "/quickregis/user").hasRole("WAITER")
                         .requestMatchers(HttpMethod.POST,"/branch/{id}/menus","/food").hasRole("BRANCH_MANAGER")
@@ -65,7 +69,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
         );
         httpSecurity.oauth2ResourceServer(oauth2 ->
-                oauth2.jwt(jwtConfigurer ->
+                oauth2.bearerTokenResolver(bearerTokenResolver())
+                        .jwt(jwtConfigurer ->
                         jwtConfigurer.decoder(jwtDecoder)
                                 .jwtAuthenticationConverter(jwtAuthenticationConverter())
 
@@ -75,6 +80,17 @@ public class SecurityConfig {
         return httpSecurity.build();
     }
 
+    // EventSource cannot send headers, so event streams may pass the token as access_token.
+    @Bean
+    BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+        DefaultBearerTokenResolver streamResolver = new DefaultBearerTokenResolver();
+        streamResolver.setAllowUriQueryParameter(true);
+        return request -> request.getRequestURI().endsWith("/stream")
+                ? streamResolver.resolve(request)
+                : headerResolver.resolve(request);
+    }
+
     @Bean
     JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
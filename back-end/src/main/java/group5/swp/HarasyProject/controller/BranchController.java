@@ -1,12 +1,15 @@
 package group5.swp.HarasyProject.controller;
 
 import group5.swp.HarasyProject.dto.request.branch.BranchRequest;
+import group5.swp.HarasyProject.dto.request.branch.BranchScheduleExceptionRequest;
 import group5.swp.HarasyProject.dto.response.ApiResponse;
 import group5.swp.HarasyProject.dto.response.branch.BranchInfoHomeResponse;
 import group5.swp.HarasyProject.dto.response.branch.BranchResponse;
+import group5.swp.HarasyProject.dto.response.branch.BranchScheduleExceptionResponse;
 import group5.swp.HarasyProject.dto.response.branch.BranchesViewResponse;
 import group5.swp.HarasyProject.dto.response.menu.MenuResponse;
 import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import group5.swp.HarasyProject.dto.response.reservation.AvailabilityCalendarResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
 import group5.swp.HarasyProject.dto.response.table.TableResponse;
 import group5.swp.HarasyProject.service.BusinessManagementService;
@@ -18,8 +21,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -73,11 +78,36 @@ public class BranchController {
         return restaurantManagementService.getAllMenusInBranch(id,includeAll);
     }
 
+    @GetMapping("/branch/{id}/availability")
+    ApiResponse<AvailabilityCalendarResponse> getAvailability(@PathVariable int id,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam int guests,
+                                                              @RequestParam(required = false) Integer typeId) {
+        return businessManagementService.getAvailabilityCalendar(id, from, to, guests, typeId);
+    }
+
     @GetMapping("/branch/{id}/tables")
     ApiResponse<List<TableResponse>> getAllTables(@PathVariable int id){
         return restaurantManagementService.getAllTablesInBranch(id);
     }
 
+    @GetMapping("/branch/{id}/scheduleExceptions")
+    ApiResponse<List<BranchScheduleExceptionResponse>> getScheduleExceptions(@PathVariable int id) {
+        return restaurantManagementService.getScheduleExceptions(id);
+    }
+
+    @PostMapping("/branch/{id}/scheduleExceptions")
+    ApiResponse<BranchScheduleExceptionResponse> addScheduleException(@PathVariable int id,
+                                                                      @RequestBody BranchScheduleExceptionRequest request) {
+        return restaurantManagementService.addScheduleException(id, request);
+    }
+
+    @DeleteMapping("/scheduleException/{exceptionId}")
+    ApiResponse<?> deleteScheduleException(@PathVariable int exceptionId) {
+        return restaurantManagementService.deleteScheduleException(exceptionId);
+    }
+
     @DeleteMapping("/hour/{hourId}")
     ApiResponse<?> deleteHour(@PathVariable int hourId) {
         return restaurantManagementService.deleteWorkingHour(hourId);
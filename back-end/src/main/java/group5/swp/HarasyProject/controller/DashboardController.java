@@ -0,0 +1,22 @@
+package group5.swp.HarasyProject.controller;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.DashboardResponse;
+import group5.swp.HarasyProject.service.DashboardService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DashboardController {
+    DashboardService dashboardService;
+
+    @GetMapping("/dashboard")
+    public ApiResponse<DashboardResponse> getDashboard() {
+        return dashboardService.getDashboard();
+    }
+}
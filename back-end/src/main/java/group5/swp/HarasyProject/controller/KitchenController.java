@@ -0,0 +1,45 @@
+package group5.swp.HarasyProject.controller;
+
+import group5.swp.HarasyProject.dto.request.kitchen.KitchenItemRequest;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.kitchen.KitchenBatchResponse;
+import group5.swp.HarasyProject.dto.response.kitchen.KitchenTicketResponse;
+import group5.swp.HarasyProject.enums.KitchenStation;
+import group5.swp.HarasyProject.service.KitchenQueueService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class KitchenController {
+    KitchenQueueService kitchenQueueService;
+
+    @GetMapping("/kitchen/{branchId}/station/{station}")
+    public ApiResponse<List<KitchenTicketResponse>> getStationQueue(@PathVariable int branchId,
+                                                                    @PathVariable KitchenStation station) {
+        return kitchenQueueService.getStationQueue(branchId, station);
+    }
+
+    @PostMapping("/kitchen/{branchId}/station/{station}/fire")
+    public ApiResponse<KitchenBatchResponse> fireNext(@PathVariable int branchId,
+                                                      @PathVariable KitchenStation station) {
+        return kitchenQueueService.fireNext(branchId, station);
+    }
+
+    @PatchMapping("/kitchen/items")
+    public ApiResponse<List<KitchenTicketResponse>> updateItems(@RequestBody List<KitchenItemRequest> requests) {
+        return kitchenQueueService.updateItems(requests);
+    }
+
+    @PostMapping("/kitchen/{branchId}/station/{station}/bump/{foodId}")
+    public ApiResponse<KitchenBatchResponse> bump(@PathVariable int branchId,
+                                                  @PathVariable KitchenStation station,
+                                                  @PathVariable int foodId) {
+        return kitchenQueueService.bump(branchId, station, foodId);
+    }
+}
@@ -1,9 +1,22 @@
 package group5.swp.HarasyProject.controller;
 
 import group5.swp.HarasyProject.dto.request.order.OrderRequest;
+import group5.swp.HarasyProject.dto.request.order.PaymentRequest;
 import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BestSellerResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderHistoryResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderPaymentsResponse;
 import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import group5.swp.HarasyProject.dto.response.revenue.DailyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.MonthlyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.RevenueSeriesResponse;
+import group5.swp.HarasyProject.dto.response.revenue.YearlyRevenueResponse;
+import group5.swp.HarasyProject.enums.BestSellerWindow;
+import group5.swp.HarasyProject.service.BestSellerService;
 import group5.swp.HarasyProject.service.BusinessManagementService;
+import group5.swp.HarasyProject.service.IdempotencyService;
+import group5.swp.HarasyProject.service.OrderHistoryService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -11,11 +24,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +37,9 @@ import java.util.Map;
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class OrderController {
     BusinessManagementService businessManagementService;
+    IdempotencyService idempotencyService;
+    OrderHistoryService orderHistoryService;
+    BestSellerService bestSellerService;
 
     @GetMapping("/order")
     public ApiResponse<Page<OrderResponse>> getAllOrders(
@@ -52,24 +68,63 @@ public class OrderController {
         return businessManagementService.getAllCusOrders(pageable, customerId);
     }
 
+    @GetMapping("/order/history")
+    public ApiResponse<OrderHistoryResponse> getOrderHistory(
+            @RequestParam(required = false) Integer branchId,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return orderHistoryService.getHistory(branchId, null, before, size);
+    }
+
+    @GetMapping("customer/{customerId}/order/history")
+    public ApiResponse<OrderHistoryResponse> getCustomerOrderHistory(
+            @PathVariable int customerId,
+            @RequestParam(required = false) Integer before,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return orderHistoryService.getHistory(null, customerId, before, size);
+    }
+
     @GetMapping("/orderInTime/{branchId}")
     public ApiResponse<List<OrderResponse>> getAllOrdersInTime(@PathVariable int branchId){
         return businessManagementService.getAllInTimeOrders(branchId);
     }
 
+    @GetMapping(value = "/orderInTime/{branchId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrdersInTime(@PathVariable int branchId) {
+        return businessManagementService.subscribeKitchenFeed(branchId);
+    }
+
     @GetMapping("/order/{id}")
     public ApiResponse<OrderResponse> getOrder(@PathVariable int id) {
         return businessManagementService.getOrder(id);
     }
 
     @PostMapping("/order")
-    ApiResponse<OrderResponse> createOrder(@RequestBody OrderRequest request) {
-        return businessManagementService.createOrder(request);
+    ApiResponse<OrderResponse> createOrder(@RequestBody OrderRequest request,
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String key) {
+        return idempotencyService.execute("order:create", key, request, OrderResponse.class,
+                () -> businessManagementService.createOrder(request));
     }
 
     @PutMapping("/order/{id}")
-    ApiResponse<OrderResponse> updateOrder(@PathVariable int id, @RequestBody OrderRequest request) {
-        return businessManagementService.updateOrder(id, request);
+    ApiResponse<OrderResponse> updateOrder(@PathVariable int id, @RequestBody OrderRequest request,
+                                           @RequestHeader(value = "Idempotency-Key", required = false) String key) {
+        return idempotencyService.execute("order:update:" + id, key, request, OrderResponse.class,
+                () -> businessManagementService.updateOrder(id, request));
+    }
+
+    @GetMapping("/order/{id}/payments")
+    public ApiResponse<OrderPaymentsResponse> getOrderPayments(@PathVariable int id) {
+        return businessManagementService.getOrderPayments(id);
+    }
+
+    @PostMapping("/order/{id}/payments")
+    ApiResponse<OrderPaymentsResponse> payOrder(@PathVariable int id, @RequestBody List<PaymentRequest> requests,
+                                                @RequestHeader(value = "Idempotency-Key", required = false) String key) {
+        return idempotencyService.execute("order:pay:" + id, key, requests, OrderPaymentsResponse.class,
+                () -> businessManagementService.payOrder(id, requests));
     }
 
     @DeleteMapping("/order/{orderId}/food/{foodId}")
@@ -87,13 +142,15 @@ public class OrderController {
     }
 
     @GetMapping("/revenue/month/daily")
-    public ApiResponse<?> getDailyRevenueInMonth(@RequestParam("month") int month, @RequestParam("year") int year) {
-        List<Object[]> dailyRevenues = businessManagementService.getDailyRevenueInMonth(month, year);
-        List<Map<String, Object>> response = new ArrayList<>();
-        dailyRevenues.forEach(record -> response.add(Map.of("day", record[0], "revenue", record[1])));
-        return ApiResponse.builder()
-                .data(response)
-                .build();
+    public ApiResponse<List<DailyRevenueResponse>> getDailyRevenueInMonth(@RequestParam("month") int month,
+                                                                          @RequestParam("year") int year) {
+        return businessManagementService.getDailyRevenueInMonth(month, year);
+    }
+
+    @GetMapping(value = "/revenue/month/daily", params = "columnar=true")
+    public ApiResponse<RevenueSeriesResponse> getDailyRevenueSeriesInMonth(@RequestParam("month") int month,
+                                                                           @RequestParam("year") int year) {
+        return businessManagementService.getDailyRevenueSeriesInMonth(month, year);
     }
 
 
@@ -106,13 +163,13 @@ public class OrderController {
     }
 
     @GetMapping("/revenue/year/monthly")
-    public ApiResponse<?> getMonthlyRevenueInYear(@RequestParam("year") int year) {
-        List<Object[]> monthlyRevenues = businessManagementService.getMonthlyRevenueInYear(year);
-        List<Map<String, Object>> response = new ArrayList<>();
-        monthlyRevenues.forEach(record -> response.add(Map.of("month", record[0], "revenue", record[1])));
-        return ApiResponse.builder()
-                .data(response)
-                .build();
+    public ApiResponse<List<MonthlyRevenueResponse>> getMonthlyRevenueInYear(@RequestParam("year") int year) {
+        return businessManagementService.getMonthlyRevenueInYear(year);
+    }
+
+    @GetMapping(value = "/revenue/year/monthly", params = "columnar=true")
+    public ApiResponse<RevenueSeriesResponse> getMonthlyRevenueSeriesInYear(@RequestParam("year") int year) {
+        return businessManagementService.getMonthlyRevenueSeriesInYear(year);
     }
 
     @GetMapping("/revenue/year")
@@ -124,13 +181,13 @@ public class OrderController {
     }
 
     @GetMapping("/revenue/all-years")
-    public ApiResponse<?> getTotalRevenueForAllYears() {
-        List<Object[]> totalRevenues = businessManagementService.getTotalRevenueForAllYears();
-        List<Map<String, Object>> response = new ArrayList<>();
-        totalRevenues.forEach(record -> response.add(Map.of("year", record[0], "revenue", record[1])));
-        return ApiResponse.builder()
-                .data(response)
-                .build();
+    public ApiResponse<List<YearlyRevenueResponse>> getTotalRevenueForAllYears() {
+        return businessManagementService.getTotalRevenueForAllYears();
+    }
+
+    @GetMapping(value = "/revenue/all-years", params = "columnar=true")
+    public ApiResponse<RevenueSeriesResponse> getTotalRevenueSeriesForAllYears() {
+        return businessManagementService.getTotalRevenueSeriesForAllYears();
     }
 
     @GetMapping("/revenue/all")
@@ -150,43 +207,21 @@ public class OrderController {
     }
 
     @GetMapping("/revenue/branches")
-    public ApiResponse<?> getBranchesTotalRevenue() {
-        List<Object[]> branchesRevenue = businessManagementService.getBranchesTotalRevenue();
-        List<Map<String, Object>> response = new ArrayList<>();
-        branchesRevenue.forEach(record -> response.add(Map.of("branchName", record[0], "revenue", record[1])));
-        return ApiResponse.builder()
-                .data(response)
-                .build();
+    public ApiResponse<List<BranchRevenueResponse>> getBranchesTotalRevenue() {
+        return businessManagementService.getBranchesTotalRevenue();
     }
 
     @GetMapping("/revenue/branches/monthly")
-    public ApiResponse<?> getBranchesTotalRevenueInMonth() {
-        List<Object[]> branchesRevenue = businessManagementService.getBranchesTotalRevenueInMonth();
-        Map<Integer, List<Map<String, Object>>> groupedResponse = new HashMap<>();
-        for (Object[] row : branchesRevenue) {
-            String branchName = (String) row[0];
-            Integer month = (Integer) row[1];
-            Long revenue = (Long) row[2];
-            Map<String, Object> branchData = new HashMap<>();
-            branchData.put("branchName", branchName);
-            branchData.put("revenue", revenue);
-            groupedResponse.computeIfAbsent(month, k -> new ArrayList<>()).add(branchData);
-        }
-        return ApiResponse.builder()
-                .data(groupedResponse)
-                .build();
+    public ApiResponse<Map<Integer, List<BranchRevenueResponse>>> getBranchesTotalRevenueInMonth() {
+        return businessManagementService.getBranchesTotalRevenueInMonth();
     }
 
     @GetMapping("/bestSeller")
-    public ApiResponse<?> getBestSeller() {
-        List<Object[]> bestSeller = businessManagementService.getBestSeller();
-        List<Map<String, Object>> response = new ArrayList<>();
-        bestSeller.forEach(record -> response.add(Map.of("foodName", record[0],
-                "revenue", record[1],
-                "quantity", record[2])));
-        return ApiResponse.builder()
-                .data(response)
-                .build();
-
+    public ApiResponse<List<BestSellerResponse>> getBestSeller(
+            @RequestParam(required = false) Integer branchId,
+            @RequestParam(defaultValue = "ALL") BestSellerWindow window,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        return bestSellerService.getBestSellers(branchId, window, size);
     }
 }
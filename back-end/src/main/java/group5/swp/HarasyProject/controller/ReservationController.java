@@ -3,10 +3,14 @@ package group5.swp.HarasyProject.controller;
 import group5.swp.HarasyProject.dto.request.reservation.CheckReserveTimeRequest;
 import group5.swp.HarasyProject.dto.request.reservation.CustomerReserveRequest;
 import group5.swp.HarasyProject.dto.request.reservation.ReservationRequest;
+import group5.swp.HarasyProject.dto.request.reservation.ReservationStatusBatchRequest;
 import group5.swp.HarasyProject.dto.response.ApiResponse;
 import group5.swp.HarasyProject.dto.response.reservation.AvailableReserveTimeResponse;
+import group5.swp.HarasyProject.dto.response.reservation.ReservationBatchResultResponse;
+import group5.swp.HarasyProject.dto.response.reservation.ReservationHoldResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationTypeResonse;
+import group5.swp.HarasyProject.dto.response.reservation.WaitlistEntryResponse;
 import group5.swp.HarasyProject.dto.response.table.TableResponse;
 import group5.swp.HarasyProject.service.BusinessManagementService;
 import lombok.AccessLevel;
@@ -64,11 +68,41 @@ public class ReservationController {
         return businessManagementService.customerReservation(request);
     }
 
+    @PostMapping("/reserve/hold")
+    ApiResponse<ReservationHoldResponse> holdReservation(@RequestBody CheckReserveTimeRequest request) {
+        return businessManagementService.holdReservation(request);
+    }
+
+    @DeleteMapping("/reserve/hold/{token}")
+    ApiResponse<ReservationHoldResponse> releaseHold(@PathVariable String token) {
+        return businessManagementService.releaseHold(token);
+    }
+
+    @PostMapping("/reserve/waitlist")
+    ApiResponse<WaitlistEntryResponse> joinWaitlist(@RequestBody CustomerReserveRequest request) {
+        return businessManagementService.joinWaitlist(request);
+    }
+
+    @DeleteMapping("/reserve/waitlist/{id}")
+    ApiResponse<WaitlistEntryResponse> cancelWaitlistEntry(@PathVariable int id) {
+        return businessManagementService.cancelWaitlistEntry(id);
+    }
+
     @PostMapping("/reserve")
     ApiResponse<ReservationResponse> reserve(@RequestBody ReservationRequest request) {
         return businessManagementService.createReservation(request);
     }
 
+    @PostMapping("/reserve/batch")
+    ApiResponse<List<ReservationBatchResultResponse>> reserveBatch(@RequestBody List<ReservationRequest> requests) {
+        return businessManagementService.createReservations(requests);
+    }
+
+    @PutMapping("/reserve/status")
+    ApiResponse<List<ReservationBatchResultResponse>> updateReserveStatuses(@RequestBody ReservationStatusBatchRequest request) {
+        return businessManagementService.updateReservationStatuses(request);
+    }
+
     @PutMapping("/reserve/{id}")
     ApiResponse<ReservationResponse> updateReserve(@RequestBody ReservationRequest request,
                                                    @PathVariable int id) {
@@ -14,4 +14,5 @@ import java.util.List;
 public class GenericSubPropertiesRequest<T> {
     List<T> creates;
     List<T> updates;
+    List<T> deletes;
 }
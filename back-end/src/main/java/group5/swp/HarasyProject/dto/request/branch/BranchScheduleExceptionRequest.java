@@ -0,0 +1,22 @@
+package group5.swp.HarasyProject.dto.request.branch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BranchScheduleExceptionRequest {
+    LocalDate date;
+    boolean closed;
+    LocalTime openingTime;
+    LocalTime closingTime;
+    String note;
+}
@@ -0,0 +1,19 @@
+package group5.swp.HarasyProject.dto.request.kitchen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.OrderItemStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class KitchenItemRequest {
+    Integer orderId;
+    Integer foodId;
+    OrderItemStatus status;
+    Integer cooked;
+}
@@ -0,0 +1,18 @@
+package group5.swp.HarasyProject.dto.request.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PaymentRequest {
+    Integer customerId;
+    Integer tableId;
+    Long amount;
+    Long points;
+}
@@ -18,4 +18,5 @@ public class CheckReserveTimeRequest {
     LocalDate date;
     LocalTime time;
     int amountGuest;
+    Integer typeId;
 }
@@ -24,4 +24,5 @@ public class CustomerReserveRequest {
     int amountGuest;
     int typeId;
     ReservationStatus status;
+    String holdToken;
 }
@@ -0,0 +1,19 @@
+package group5.swp.HarasyProject.dto.request.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.ReservationStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReservationStatusBatchRequest {
+    List<Integer> ids;
+    ReservationStatus status;
+}
@@ -0,0 +1,23 @@
+package group5.swp.HarasyProject.dto.response.branch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BranchScheduleExceptionResponse {
+    Integer id;
+    LocalDate date;
+    boolean closed;
+    LocalTime openingTime;
+    LocalTime closingTime;
+    String note;
+}
@@ -1,6 +1,7 @@
 package group5.swp.HarasyProject.dto.response.category;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.KitchenStation;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -13,4 +14,5 @@ import lombok.experimental.FieldDefaults;
 public class CategoryResponse {
     Integer id;
     String name;
+    KitchenStation station;
 }
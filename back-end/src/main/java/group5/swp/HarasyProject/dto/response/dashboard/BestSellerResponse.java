@@ -0,0 +1,17 @@
+package group5.swp.HarasyProject.dto.response.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BestSellerResponse {
+    String foodName;
+    Long revenue;
+    Long quantity;
+}
@@ -0,0 +1,26 @@
+package group5.swp.HarasyProject.dto.response.dashboard;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DashboardResponse {
+    Date revenueAsOf;
+    Date bestSellersAsOf;
+    Long totalRevenue;
+    Long totalOrders;
+    List<BranchRevenueResponse> branches;
+    Map<Integer, List<BranchRevenueResponse>> branchesMonthly;
+    List<BestSellerResponse> bestSellers;
+    List<String> unavailable;
+}
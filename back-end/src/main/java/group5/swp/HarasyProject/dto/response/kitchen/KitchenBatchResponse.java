@@ -0,0 +1,22 @@
+package group5.swp.HarasyProject.dto.response.kitchen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.KitchenStation;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class KitchenBatchResponse {
+    KitchenStation station;
+    Integer foodId;
+    String foodName;
+    int quantity;
+    List<KitchenTicketResponse> tickets;
+}
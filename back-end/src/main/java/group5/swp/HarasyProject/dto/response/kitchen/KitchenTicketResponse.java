@@ -0,0 +1,26 @@
+package group5.swp.HarasyProject.dto.response.kitchen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.KitchenStation;
+import group5.swp.HarasyProject.enums.OrderItemStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class KitchenTicketResponse {
+    Integer orderId;
+    Integer foodId;
+    String foodName;
+    int quantity;
+    int cooked;
+    OrderItemStatus status;
+    KitchenStation station;
+    LocalDateTime dueAt;
+}
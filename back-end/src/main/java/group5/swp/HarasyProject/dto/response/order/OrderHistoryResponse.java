@@ -0,0 +1,18 @@
+package group5.swp.HarasyProject.dto.response.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderHistoryResponse {
+    List<OrderSummaryResponse> orders;
+    Integer nextCursor;
+}
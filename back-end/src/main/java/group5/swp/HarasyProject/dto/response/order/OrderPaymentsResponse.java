@@ -0,0 +1,24 @@
+package group5.swp.HarasyProject.dto.response.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.PaymentStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderPaymentsResponse {
+    Integer orderId;
+    PaymentStatus paymentStatus;
+    Long total;
+    Long totalPoints;
+    Long paidAmount;
+    Long paidPoints;
+    List<PaymentResponse> payments;
+}
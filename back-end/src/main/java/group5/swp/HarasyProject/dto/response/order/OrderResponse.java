@@ -26,6 +26,8 @@ public class OrderResponse {
     AccountMinimalResponse customer;
     List<OrderItemResponse> orderItems;
     Long total;
+    Long paidAmount;
+    Long paidPoints;
     Date orderDate;
     String note;
 }
@@ -0,0 +1,30 @@
+package group5.swp.HarasyProject.dto.response.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.PaymentStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderSummaryResponse {
+    Integer orderId;
+    Integer branchId;
+    String branchName;
+    Integer customerId;
+    String customerName;
+    String customerPhone;
+    String staffName;
+    String tableNumbers;
+    int itemCount;
+    long total;
+    PaymentStatus paymentStatus;
+    Date orderDate;
+    String note;
+}
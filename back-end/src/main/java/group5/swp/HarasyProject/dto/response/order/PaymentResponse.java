@@ -0,0 +1,22 @@
+package group5.swp.HarasyProject.dto.response.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PaymentResponse {
+    Long id;
+    Integer customerId;
+    Integer tableId;
+    Long amount;
+    Long points;
+    Date paidDate;
+}
@@ -0,0 +1,23 @@
+package group5.swp.HarasyProject.dto.response.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AvailabilityCalendarResponse {
+    int branchId;
+    LocalDate from;
+    LocalDate to;
+    int amountGuest;
+    int slotMinutes;
+    List<DayAvailabilityResponse> days;
+}
@@ -14,4 +14,5 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class AvailableReserveTimeResponse {
     List<String> availableReservations;
+    List<SlotCapacityResponse> slots;
 }
@@ -0,0 +1,21 @@
+package group5.swp.HarasyProject.dto.response.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DayAvailabilityResponse {
+    LocalDate date;
+    String firstSlot;
+    List<Integer> capacities;
+    List<String> availableTimes;
+}
@@ -0,0 +1,19 @@
+package group5.swp.HarasyProject.dto.response.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReservationBatchResultResponse {
+    int index;
+    Integer reservationId;
+    boolean success;
+    Integer code;
+    String message;
+}
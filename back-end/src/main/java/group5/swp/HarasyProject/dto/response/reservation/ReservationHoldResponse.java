@@ -0,0 +1,27 @@
+package group5.swp.HarasyProject.dto.response.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.dto.response.table.TableResponse;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReservationHoldResponse {
+    String token;
+    int branchId;
+    LocalDate date;
+    LocalTime time;
+    int seats;
+    List<TableResponse> tables;
+    LocalDateTime expiresAt;
+}
@@ -15,4 +15,5 @@ public class ReservationTypeResonse {
     int id;
     long minPrice;
     ReservationType name;
+    int diningMinutes;
 }
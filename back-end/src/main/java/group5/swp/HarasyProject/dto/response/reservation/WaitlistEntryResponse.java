@@ -0,0 +1,25 @@
+package group5.swp.HarasyProject.dto.response.reservation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import group5.swp.HarasyProject.enums.WaitlistStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WaitlistEntryResponse {
+    Integer id;
+    int branchId;
+    LocalDate date;
+    LocalTime time;
+    int amountGuest;
+    WaitlistStatus status;
+    Integer reservationId;
+}
@@ -0,0 +1,18 @@
+package group5.swp.HarasyProject.dto.response.revenue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DailyRevenueResponse {
+    LocalDate day;
+    Long revenue;
+}
@@ -0,0 +1,16 @@
+package group5.swp.HarasyProject.dto.response.revenue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MonthlyRevenueResponse {
+    Integer month;
+    Long revenue;
+}
@@ -0,0 +1,25 @@
+package group5.swp.HarasyProject.dto.response.revenue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A revenue series laid out by column: {@code revenue[i]} belongs to the i-th day, month
+ * or year, and only the period column of the series is present.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevenueSeriesResponse {
+    List<LocalDate> days;
+    int[] months;
+    int[] years;
+    long[] revenue;
+}
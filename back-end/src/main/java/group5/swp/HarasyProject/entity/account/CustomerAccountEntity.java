@@ -37,10 +37,4 @@ public class CustomerAccountEntity {
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL,fetch = FetchType.LAZY)
     List<ReservationEntity> reservations;
 
-    public void calculatePoint(long addPoint, long minusPoint){
-        vipPoint += addPoint;
-        vipPoint -= minusPoint;
-        if(vipPoint < 0) vipPoint = 0;
-    }
-
 }
@@ -0,0 +1,43 @@
+package group5.swp.HarasyProject.entity.branch;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "branch_schedule_exception",
+        uniqueConstraints = @UniqueConstraint(name = "uk_schedule_exception_branch_date",
+                columnNames = {"branch_id", "exception_date"}))
+public class BranchScheduleExceptionEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "bse_id")
+    Integer id;
+
+    @Column(name = "exception_date", nullable = false)
+    LocalDate date;
+
+    @Column(nullable = false)
+    boolean closed;
+
+    @Column(name = "opening_time")
+    LocalTime openingTime;
+
+    @Column(name = "closing_time")
+    LocalTime closingTime;
+
+    String note;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "branch_id", nullable = false)
+    BranchEntity branch;
+}
@@ -1,5 +1,6 @@
 package group5.swp.HarasyProject.entity.food;
 
+import group5.swp.HarasyProject.enums.KitchenStation;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -24,6 +25,14 @@ public class CategoryEntity {
     @Column(name = "cat_name", nullable = false)
     String name;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "station")
+    KitchenStation station;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL)
     List<FoodEntity> foods;
+
+    public KitchenStation getStation() {
+        return station != null ? station : KitchenStation.GRILL;
+    }
 }
@@ -11,19 +11,25 @@ import group5.swp.HarasyProject.enums.PaymentStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "orders")
+@Table(name = "orders",
+        indexes = @Index(name = "idx_orders_status_created",
+                columnList = "payment_status, created_date, branch_id, total"))
 public class OrderEntity extends Auditable {
 
     @Id
@@ -35,6 +41,29 @@ public class OrderEntity extends Auditable {
     @Column(nullable = false)
     long total;
 
+    @ColumnDefault("0")
+    @Column(name = "total_points", nullable = false)
+    long totalPoints;
+
+    @ColumnDefault("0")
+    @Column(name = "item_count", nullable = false)
+    int itemCount;
+
+    @ColumnDefault("0")
+    @Column(name = "cooked_item_count", nullable = false)
+    int cookedItemCount;
+
+    @ColumnDefault("0")
+    @Column(name = "paid_amount", nullable = false)
+    long paidAmount;
+
+    @ColumnDefault("0")
+    @Column(name = "paid_points", nullable = false)
+    long paidPoints;
+
+    @Column(name = "price_version")
+    Long priceVersion;
+
     @Column(name = "payment_status", nullable = false)
     @Enumerated(EnumType.STRING)
     PaymentStatus paymentStatus;
@@ -69,36 +98,75 @@ public class OrderEntity extends Auditable {
     String note;
 
 
-    public OrderEntity calculateTotal() {
-        if(orderItems!=null && !orderItems.isEmpty()) {
-            total = 0;
-            orderItems.forEach(orderItem -> total += orderItem.getTotal());
-        }
-        return this;
+    /**
+     * Recomputes the totals from every item. The totals are kept up to date by
+     * {@link #addItem}, {@link #updateItem} and {@link #removeItem}, so this is only needed
+     * to repair rows that drifted; returns whether anything changed.
+     */
+    public boolean recalculateTotals() {
+        long oldTotal = total, oldPoints = totalPoints;
+        int oldCount = itemCount, oldCooked = cookedItemCount;
+        total = 0;
+        totalPoints = 0;
+        itemCount = 0;
+        cookedItemCount = 0;
+        if (orderItems != null) orderItems.forEach(orderItem -> apply(orderItem, 1));
+        return total != oldTotal || totalPoints != oldPoints || itemCount != oldCount || cookedItemCount != oldCooked;
     }
 
     public void addItem(OrderItemEntity orderItem) {
         if(orderItems==null) orderItems = new ArrayList<>();
         orderItems.add(orderItem);
+        apply(orderItem, 1);
+    }
+
+    public void updateItem(OrderItemEntity orderItem, Consumer<OrderItemEntity> change) {
+        apply(orderItem, -1);
+        change.accept(orderItem);
+        apply(orderItem, 1);
+    }
+
+    public void removeItem(OrderItemEntity orderItem) {
+        if (orderItems != null && orderItems.remove(orderItem)) apply(orderItem, -1);
+    }
+
+    private void apply(OrderItemEntity orderItem, int sign) {
+        total += sign * orderItem.getTotal();
+        totalPoints += sign * orderItem.getTotalPointsPrice();
+        itemCount += sign;
+        if (orderItem.getStatus() == OrderItemStatus.COOKED) cookedItemCount += sign;
+    }
+
+    public long getBalance() {
+        return Math.max(0, total - paidAmount);
+    }
+
+    public long getPointsBalance() {
+        return Math.max(0, totalPoints - paidPoints);
+    }
+
+    public void recordPayment(PaymentEntity payment) {
+        paidAmount += payment.getAmount();
+        paidPoints += payment.getPoints();
+    }
+
+    public boolean isSettled() {
+        return getBalance() == 0 && getPointsBalance() == 0;
     }
 
+    /**
+     * Closes a settled order. Loyalty points were already moved by the payments that
+     * settled it.
+     */
     public void payOrder(){
-        long minusPoint =  0;
-        long addPoint = total;
-        for (OrderItemEntity orderItem : orderItems) {
-            minusPoint+= orderItem.getTotalPointsPrice();
-        }
+        paymentStatus = PaymentStatus.PAYED;
         if(reservation!=null){
             reservation.doneReserve();
         };
-        customer.calculatePoint(addPoint,minusPoint);
     }
 
     public boolean isCookedAll(){
-        for (OrderItemEntity orderItem : orderItems) {
-            if(!orderItem.getStatus().equals(OrderItemStatus.COOKED)) return false;
-        }
-        return true;
+        return cookedItemCount == itemCount;
     }
 
 }
@@ -0,0 +1,48 @@
+package group5.swp.HarasyProject.entity.order;
+
+import group5.swp.HarasyProject.entity.Auditable;
+import group5.swp.HarasyProject.enums.OrderEventType;
+import group5.swp.HarasyProject.enums.OrderItemStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Append-only history of an order. Rows are never updated; {@code order_summary} is the
+ * projection read by history listings.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "order_event",
+        indexes = @Index(name = "idx_order_event_order", columnList = "order_id, event_id"))
+public class OrderEventEntity extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    Long id;
+
+    @Column(name = "order_id", nullable = false)
+    int orderId;
+
+    @Column(name = "branch_id", nullable = false)
+    int branchId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    OrderEventType type;
+
+    @Column(name = "food_id")
+    Integer foodId;
+
+    Integer quantity;
+
+    @Column(name = "item_status")
+    @Enumerated(EnumType.STRING)
+    OrderItemStatus itemStatus;
+}
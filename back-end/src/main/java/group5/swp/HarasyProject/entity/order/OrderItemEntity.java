@@ -3,6 +3,7 @@ package group5.swp.HarasyProject.entity.order;
 import group5.swp.HarasyProject.entity.Auditable;
 import group5.swp.HarasyProject.entity.food.FoodEntity;
 import group5.swp.HarasyProject.enums.OrderItemStatus;
+import group5.swp.HarasyProject.model.PriceSnapshot;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
@@ -39,6 +40,9 @@ public class OrderItemEntity extends Auditable {
     @Enumerated(EnumType.STRING)
     OrderItemStatus status;
 
+    @Column(name = "food_name")
+    String foodName;
+
     @Column(nullable = false)
     long price;
 
@@ -54,23 +58,20 @@ public class OrderItemEntity extends Auditable {
     @Column(nullable = false)
     int cooked;
 
+    public OrderItemEntity price(PriceSnapshot.FoodPrice foodPrice){
+        foodName = foodPrice.name();
+        price = Math.max(0, foodPrice.price());
+        pointsPrice = Math.max(0, foodPrice.pointsPrice());
+        return calculatePrice();
+    }
+
+    /**
+     * Recomputes the line totals from the unit prices captured when the item was added,
+     * so later price changes do not reach items already on an order.
+     */
     public OrderItemEntity calculatePrice(){
-        if (food != null){
-            if (food.getPrice() > 0) {
-                price = food.getPrice();
-                total = food.getPrice() * quantity;
-            } else {
-                price = 0;
-                total = 0;
-            }
-            if  (food.getPointsPrice()>0){
-                pointsPrice = food.getPointsPrice();
-                totalPointsPrice = (long) food.getPointsPrice() * quantity;
-            }else {
-                pointsPrice = 0;
-                totalPointsPrice = 0;
-            }
-        }
+        total = price * quantity;
+        totalPointsPrice = (long) pointsPrice * quantity;
         return this;
     }
 
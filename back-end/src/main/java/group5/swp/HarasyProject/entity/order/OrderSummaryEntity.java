@@ -0,0 +1,66 @@
+package group5.swp.HarasyProject.entity.order;
+
+import group5.swp.HarasyProject.enums.PaymentStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.sql.Timestamp;
+
+/**
+ * One denormalized row per order for history listings, kept by the order history
+ * projector in the same transaction as the order change. Listings page over
+ * {@code order_id} descending through the indexes, without joining staff, customer,
+ * branch, tables or items.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "order_summary", indexes = {
+        @Index(name = "idx_order_summary_customer", columnList = "customer_id, order_id"),
+        @Index(name = "idx_order_summary_branch", columnList = "branch_id, order_id")})
+public class OrderSummaryEntity {
+    @Id
+    @Column(name = "order_id")
+    Integer orderId;
+
+    @Column(name = "branch_id", nullable = false)
+    int branchId;
+
+    @Column(name = "branch_name")
+    String branchName;
+
+    @Column(name = "customer_id")
+    Integer customerId;
+
+    @Column(name = "customer_name")
+    String customerName;
+
+    @Column(name = "customer_phone")
+    String customerPhone;
+
+    @Column(name = "staff_name")
+    String staffName;
+
+    @Column(name = "table_numbers")
+    String tableNumbers;
+
+    @Column(name = "item_count", nullable = false)
+    int itemCount;
+
+    @Column(nullable = false)
+    long total;
+
+    @Column(name = "payment_status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    PaymentStatus paymentStatus;
+
+    @Column(name = "order_date")
+    Timestamp orderDate;
+
+    String note;
+}
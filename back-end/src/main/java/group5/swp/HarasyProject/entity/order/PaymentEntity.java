@@ -0,0 +1,50 @@
+package group5.swp.HarasyProject.entity.order;
+
+import group5.swp.HarasyProject.entity.Auditable;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One payment towards an order, made by one payer and optionally for one of its tables.
+ * Rows are never updated; the paid totals on {@code orders} are their running sum.
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Immutable
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "order_payment",
+        indexes = {
+                @Index(name = "idx_order_payment_order", columnList = "order_id, payment_id"),
+                @Index(name = "idx_order_payment_customer", columnList = "customer_id")
+        })
+public class PaymentEntity extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_id")
+    Long id;
+
+    @Column(name = "order_id", nullable = false)
+    int orderId;
+
+    @Column(name = "branch_id", nullable = false)
+    int branchId;
+
+    @Column(name = "customer_id")
+    Integer customerId;
+
+    @Column(name = "table_id")
+    Integer tableId;
+
+    @Column(nullable = false)
+    long amount;
+
+    @Column(nullable = false)
+    long points;
+}
@@ -0,0 +1,30 @@
+package group5.swp.HarasyProject.entity.order;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Revenue of paid orders per branch and per day, month or year, keyed by the first day
+ * of the period. Paying an order adds it to its three rows in the same transaction;
+ * the rebuild job recomputes every row from {@code orders}.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "revenue_rollup",
+        indexes = @Index(name = "idx_revenue_rollup_period", columnList = "grain, period_start"))
+public class RevenueRollupEntity {
+    @EmbeddedId
+    RevenueRollupId id;
+
+    @Column(nullable = false)
+    long revenue;
+
+    @Column(name = "order_count", nullable = false)
+    long orderCount;
+}
@@ -0,0 +1,31 @@
+package group5.swp.HarasyProject.entity.order;
+
+import group5.swp.HarasyProject.enums.RevenueGrain;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+public class RevenueRollupId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    RevenueGrain grain;
+
+    @Column(name = "branch_id")
+    int branchId;
+
+    @Column(name = "period_start")
+    LocalDate periodStart;
+}
@@ -30,6 +30,9 @@ public class ReservationEntity extends Auditable {
     @Column(name = "reservation_id")
     Integer id;
 
+    @Version
+    Long version;
+
     @Column(name = "reservation_date", nullable = false)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy")
     LocalDate date;
@@ -80,7 +83,6 @@ public class ReservationEntity extends Auditable {
     }
 
     public ReservationEntity calculate(){
-        order.calculateTotal();
         this.price =  order.getTotal();
         this.deposit = Math.round((float) (price * 40) / 100);
         return this;
@@ -0,0 +1,40 @@
+package group5.swp.HarasyProject.entity.reservation;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "reservation_slot_claim",
+        uniqueConstraints = @UniqueConstraint(name = "uk_claim_table_slot",
+                columnNames = {"table_id", "claim_date", "slot"}),
+        indexes = @Index(name = "idx_claim_reservation", columnList = "reservation_id"))
+public class ReservationSlotClaimEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "claim_id")
+    Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    ReservationEntity reservation;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "table_id", nullable = false)
+    TableEntity table;
+
+    @Column(name = "claim_date", nullable = false)
+    LocalDate date;
+
+    @Column(nullable = false)
+    int slot;
+}
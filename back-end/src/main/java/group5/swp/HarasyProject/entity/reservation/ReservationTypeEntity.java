@@ -4,6 +4,7 @@ import group5.swp.HarasyProject.enums.ReservationType;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
@@ -31,4 +32,13 @@ public class ReservationTypeEntity {
 
     @Column(name = "min_price", nullable = false)
     long minPrice;
+
+    // 0 falls back to the default duration of the type name.
+    @Column(name = "dining_minutes", nullable = false)
+    @ColumnDefault("0")
+    int diningMinutes;
+
+    public int getDiningMinutes() {
+        return diningMinutes > 0 ? diningMinutes : name.getDefaultDiningMinutes();
+    }
 }
@@ -0,0 +1,57 @@
+package group5.swp.HarasyProject.entity.reservation;
+
+import group5.swp.HarasyProject.entity.Auditable;
+import group5.swp.HarasyProject.entity.account.CustomerAccountEntity;
+import group5.swp.HarasyProject.entity.branch.BranchEntity;
+import group5.swp.HarasyProject.enums.WaitlistStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "waitlist_entry")
+public class WaitlistEntryEntity extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "waitlist_entry_id")
+    Integer id;
+
+    @Column(name = "reservation_date", nullable = false)
+    LocalDate date;
+
+    @Column(name = "reservation_time", nullable = false)
+    LocalTime time;
+
+    @Column(name = "amount_guest", nullable = false)
+    int amountGuest;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    WaitlistStatus status;
+
+    @ManyToOne
+    @JoinColumn(name = "customer_id")
+    CustomerAccountEntity customer;
+
+    @ManyToOne
+    @JoinColumn(name = "branch_id", nullable = false)
+    BranchEntity branch;
+
+    @ManyToOne
+    @JoinColumn(name = "reservation_type_id")
+    ReservationTypeEntity type;
+
+    @OneToOne
+    @JoinColumn(name = "reservation_id")
+    ReservationEntity reservation;
+}
@@ -0,0 +1,5 @@
+package group5.swp.HarasyProject.enums;
+
+public enum BestSellerWindow {
+    DAY, MONTH, YEAR, ALL
+}
@@ -0,0 +1,5 @@
+package group5.swp.HarasyProject.enums;
+
+public enum OrderEventType {
+    CREATED, ITEM_ADDED, ITEM_UPDATED, ITEM_REMOVED, PAID
+}
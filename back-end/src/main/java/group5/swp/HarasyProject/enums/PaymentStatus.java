@@ -1,5 +1,5 @@
 package group5.swp.HarasyProject.enums;
 
 public enum PaymentStatus {
-    PAYED,PENDING
+    PAYED,PENDING,PARTIAL
 }
@@ -1,5 +1,9 @@
 package group5.swp.HarasyProject.enums;
 
 public enum ReservationStatus {
-    PENDING,APPROVED,DONE,REJECTED,CANCELED
+    PENDING,APPROVED,DONE,REJECTED,CANCELED;
+
+    public boolean isHoldingTables() {
+        return this == PENDING || this == APPROVED;
+    }
 }
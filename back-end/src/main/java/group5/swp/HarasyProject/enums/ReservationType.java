@@ -1,5 +1,15 @@
 package group5.swp.HarasyProject.enums;
 
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public enum ReservationType {
-    BIRTHDAY,WEDDING,FUNERAL,GENERAL
+    BIRTHDAY(120), WEDDING(240), FUNERAL(180), GENERAL(90);
+
+    int defaultDiningMinutes;
 }
@@ -0,0 +1,5 @@
+package group5.swp.HarasyProject.enums;
+
+public enum WaitlistStatus {
+    WAITING,PROMOTED,CANCELED
+}
@@ -0,0 +1,13 @@
+package group5.swp.HarasyProject.event;
+
+import group5.swp.HarasyProject.dto.response.order.OrderItemResponse;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
+
+/**
+ * Change of one item on an open order, or the whole order leaving the kitchen when
+ * {@code type} is {@link OrderItemDeltaType#ORDER_CLOSED}. {@code item} is null for
+ * deletions and closed orders.
+ */
+public record OrderItemDeltaEvent(int branchId, int orderId, OrderItemDeltaType type, Integer foodId,
+                                  OrderItemResponse item) {
+}
@@ -0,0 +1,10 @@
+package group5.swp.HarasyProject.event;
+
+import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+
+/**
+ * An order whose stored totals were repaired outside the usual write paths, published
+ * inside the repairing transaction so cached read models can follow it.
+ */
+public record OrderRepairedEvent(OrderResponse order) {
+}
@@ -0,0 +1,7 @@
+package group5.swp.HarasyProject.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record ReservationReleasedEvent(int branchId, LocalDate date, LocalTime time, int minutes) {
+}
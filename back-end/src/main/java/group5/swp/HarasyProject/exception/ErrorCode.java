@@ -37,12 +37,18 @@ public enum ErrorCode {
     RESERVATION_NOT_FOUND(3009, "reservation not found", HttpStatus.NOT_FOUND),
     WORKING_HOUR_NOT_FOUND(30010, "working hour not found", HttpStatus.NOT_FOUND),
     STAFF_NOT_FOUND(3011, "staff not found", HttpStatus.NOT_FOUND),
+    WAITLIST_ENTRY_NOT_FOUND(3012, "waitlist entry not found", HttpStatus.NOT_FOUND),
+    SCHEDULE_EXCEPTION_NOT_FOUND(3013, "schedule exception not found", HttpStatus.NOT_FOUND),
+    RESERVATION_HOLD_NOT_FOUND(3014, "reservation hold expired or not found", HttpStatus.NOT_FOUND),
 
     //ALREADY EXIST
     TABLE_EXISTED(4000, "table already exist", HttpStatus.CONFLICT),
     BRANCH_EXISTED(4001,"branch name is duplicate",HttpStatus.CONFLICT),
     EMAIL_EXISTED(4002,"Email is already existed",HttpStatus.CONFLICT),
     USERNAME_EXISTED(4003,"Username is already existed",HttpStatus.CONFLICT),
+    TABLE_ALREADY_RESERVED(4004,"table already reserved for this time",HttpStatus.CONFLICT),
+    CONCURRENT_UPDATE(4005,"data was modified by another request",HttpStatus.CONFLICT),
+    REQUEST_IN_PROGRESS(4006,"request with this idempotency key is still in progress",HttpStatus.CONFLICT),
     //SPECIAL
     ORDER_HAVE_NO_TABLE(2000,"cannot create order with no table",HttpStatus.BAD_REQUEST),
     ORDER_WAS_CLOSED(2001,"order was closed",HttpStatus.CONFLICT),
@@ -51,6 +57,13 @@ public enum ErrorCode {
     NOT_ENOUGH_TABLE_FOR_RESERVE(2004,"not enough table for reserve",HttpStatus.BAD_REQUEST),
     ORDER_NOT_DONE_YET(2005,"order not done yet",HttpStatus.BAD_REQUEST),
     CANNOT_DELETE_ORDER_ITEM(2006,"cannot delete order item",HttpStatus.BAD_REQUEST),
+    INVALID_DATE_RANGE(2007,"invalid date range",HttpStatus.BAD_REQUEST),
+    INVALID_BATCH_REQUEST(2008,"invalid batch request",HttpStatus.BAD_REQUEST),
+    INVALID_RESERVATION_STATUS(2009,"invalid reservation status",HttpStatus.BAD_REQUEST),
+    RESERVATION_HOLD_MISMATCH(2010,"reservation does not match its hold",HttpStatus.BAD_REQUEST),
+    IDEMPOTENCY_KEY_REUSED(2011,"idempotency key was used for a different request",HttpStatus.BAD_REQUEST),
+    INVALID_PAYMENT(2012,"invalid payment",HttpStatus.BAD_REQUEST),
+    PAYMENT_EXCEEDS_BALANCE(2013,"payment exceeds order balance",HttpStatus.BAD_REQUEST),
     ;
 
     int code;
@@ -2,6 +2,7 @@ package group5.swp.HarasyProject.exception;
 
 import group5.swp.HarasyProject.dto.response.ApiResponse;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -28,4 +29,9 @@ public class GlobalExceptionHandler {
                 .build();
         return ResponseEntity.status(cause.getErrorCode().getHttpStatus()).body(response);
     }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<Void>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return appExceptionHandler(new AppException(ErrorCode.CONCURRENT_UPDATE));
+    }
 }
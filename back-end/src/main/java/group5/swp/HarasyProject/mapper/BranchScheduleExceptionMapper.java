@@ -0,0 +1,13 @@
+package group5.swp.HarasyProject.mapper;
+
+import group5.swp.HarasyProject.dto.request.branch.BranchScheduleExceptionRequest;
+import group5.swp.HarasyProject.dto.response.branch.BranchScheduleExceptionResponse;
+import group5.swp.HarasyProject.entity.branch.BranchScheduleExceptionEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface BranchScheduleExceptionMapper {
+    BranchScheduleExceptionResponse toResponse(BranchScheduleExceptionEntity entity);
+
+    BranchScheduleExceptionEntity toEntity(BranchScheduleExceptionRequest request);
+}
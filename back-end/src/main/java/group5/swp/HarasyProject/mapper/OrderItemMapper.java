@@ -13,7 +13,7 @@ import java.util.List;
 )
 public interface OrderItemMapper {
     @Mapping(target = "foodId",source = "food.id")
-    @Mapping(target = "name" , source = "food.name")
+    @Mapping(target = "name" , source = "foodName")
     OrderItemResponse toResponse(OrderItemEntity entity);
 
     List<OrderItemResponse> toResponses(List<OrderItemEntity> entities);
@@ -0,0 +1,14 @@
+package group5.swp.HarasyProject.mapper;
+
+import group5.swp.HarasyProject.dto.response.order.OrderSummaryResponse;
+import group5.swp.HarasyProject.entity.order.OrderSummaryEntity;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface OrderSummaryMapper {
+    OrderSummaryResponse toResponse(OrderSummaryEntity summary);
+
+    List<OrderSummaryResponse> toResponses(List<OrderSummaryEntity> summaries);
+}
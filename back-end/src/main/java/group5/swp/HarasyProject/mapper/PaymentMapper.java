@@ -0,0 +1,16 @@
+package group5.swp.HarasyProject.mapper;
+
+import group5.swp.HarasyProject.dto.response.order.PaymentResponse;
+import group5.swp.HarasyProject.entity.order.PaymentEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface PaymentMapper {
+    @Mapping(target = "paidDate", source = "createdDate")
+    PaymentResponse toResponse(PaymentEntity payment);
+
+    List<PaymentResponse> toResponses(List<PaymentEntity> payments);
+}
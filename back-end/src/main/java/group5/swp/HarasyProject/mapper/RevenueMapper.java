@@ -0,0 +1,55 @@
+package group5.swp.HarasyProject.mapper;
+
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.DailyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.MonthlyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.RevenueSeriesResponse;
+import group5.swp.HarasyProject.dto.response.revenue.YearlyRevenueResponse;
+import group5.swp.HarasyProject.model.BranchMonthRevenue;
+import group5.swp.HarasyProject.model.RevenuePoint;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface RevenueMapper {
+    @Mapping(target = "day", source = "periodStart")
+    DailyRevenueResponse toDaily(RevenuePoint point);
+
+    @Mapping(target = "month", expression = "java(point.periodStart().getMonthValue())")
+    MonthlyRevenueResponse toMonthly(RevenuePoint point);
+
+    @Mapping(target = "year", expression = "java(point.periodStart().getYear())")
+    YearlyRevenueResponse toYearly(RevenuePoint point);
+
+    List<DailyRevenueResponse> toDaily(List<RevenuePoint> points);
+
+    List<MonthlyRevenueResponse> toMonthly(List<RevenuePoint> points);
+
+    List<YearlyRevenueResponse> toYearly(List<RevenuePoint> points);
+
+    BranchRevenueResponse toBranchRevenue(BranchMonthRevenue revenue);
+
+    default RevenueSeriesResponse toDailySeries(List<RevenuePoint> points) {
+        return RevenueSeriesResponse.builder()
+                .days(points.stream().map(RevenuePoint::periodStart).toList())
+                .revenue(points.stream().mapToLong(RevenuePoint::revenue).toArray())
+                .build();
+    }
+
+    default RevenueSeriesResponse toMonthlySeries(List<RevenuePoint> points) {
+        return RevenueSeriesResponse.builder()
+                .months(points.stream().map(RevenuePoint::periodStart).mapToInt(LocalDate::getMonthValue).toArray())
+                .revenue(points.stream().mapToLong(RevenuePoint::revenue).toArray())
+                .build();
+    }
+
+    default RevenueSeriesResponse toYearlySeries(List<RevenuePoint> points) {
+        return RevenueSeriesResponse.builder()
+                .years(points.stream().map(RevenuePoint::periodStart).mapToInt(LocalDate::getYear).toArray())
+                .revenue(points.stream().mapToLong(RevenuePoint::revenue).toArray())
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package group5.swp.HarasyProject.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Best sellers by revenue of one branch over one time window starting at {@code start}.
+ * A Space-Saving sketch of {@code capacity} counters ranks the candidates, so the top K
+ * are the first K counters; when it is full a new food takes over the smallest counter
+ * and inherits its count as error. Exact revenue and quantity are kept beside it only for
+ * the foods holding a counter, counted from when the food took it, so memory stays bounded
+ * by {@code capacity}; these are what the top K report.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BestSellerSketch {
+    static final Comparator<Counter> RANKING = Comparator.comparingLong(Counter::estimate).reversed()
+            .thenComparingInt(Counter::foodId);
+
+    @Getter
+    LocalDate start;
+    int capacity;
+    Map<Integer, Counter> counters = new HashMap<>();
+    NavigableSet<Counter> ranking = new TreeSet<>(RANKING);
+    Map<Integer, Sale> sales = new HashMap<>();
+
+    public BestSellerSketch(LocalDate start, int capacity) {
+        this.start = start;
+        this.capacity = capacity;
+    }
+
+    public synchronized void add(Sale sale) {
+        Counter counter = counters.get(sale.foodId());
+        if (counter != null) {
+            ranking.remove(counter);
+            counter = new Counter(sale.foodId(), counter.estimate() + sale.revenue(), counter.error());
+        } else if (counters.size() < capacity) {
+            counter = new Counter(sale.foodId(), sale.revenue(), 0);
+        } else {
+            Counter smallest = ranking.pollLast();
+            counters.remove(smallest.foodId());
+            sales.remove(smallest.foodId());
+            counter = new Counter(sale.foodId(), smallest.estimate() + sale.revenue(), smallest.estimate());
+        }
+        counters.put(sale.foodId(), counter);
+        ranking.add(counter);
+        sales.merge(sale.foodId(), sale, Sale::plus);
+    }
+
+    public synchronized List<Sale> top(int k) {
+        List<Sale> top = new ArrayList<>(Math.min(k, ranking.size()));
+        for (Counter counter : ranking) {
+            if (top.size() == k) break;
+            top.add(sales.get(counter.foodId()));
+        }
+        top.sort(Comparator.comparingLong(Sale::revenue).reversed().thenComparingInt(Sale::foodId));
+        return top;
+    }
+
+    record Counter(int foodId, long estimate, long error) {
+    }
+
+    public record Sale(int foodId, String foodName, long revenue, long quantity) {
+        Sale plus(Sale other) {
+            return new Sale(foodId, other.foodName() != null ? other.foodName() : foodName,
+                    revenue + other.revenue(), quantity + other.quantity());
+        }
+    }
+}
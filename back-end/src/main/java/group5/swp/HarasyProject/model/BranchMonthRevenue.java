@@ -0,0 +1,4 @@
+package group5.swp.HarasyProject.model;
+
+public record BranchMonthRevenue(int month, int branchId, String branchName, long revenue, long orders) {
+}
@@ -0,0 +1,99 @@
+package group5.swp.HarasyProject.model;
+
+import group5.swp.HarasyProject.entity.branch.BranchScheduleExceptionEntity;
+import group5.swp.HarasyProject.entity.branch.BranchWorkingHourEntity;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reservable slots of one branch, precomputed per day of week from its working hours
+ * with dated exceptions (holidays, special hours) layered on top. Slots are aligned to
+ * 30 minutes from midnight and lie strictly inside the opening hours; reservations must
+ * start on one.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BranchSchedule {
+    public static final int SLOT_MINUTES = DayOccupancy.SLOT_MINUTES;
+    static final Day CLOSED = new Day(-1, -1, List.of());
+
+    Day[] days;
+    Map<LocalDate, Day> exceptions;
+
+    private BranchSchedule(Day[] days, Map<LocalDate, Day> exceptions) {
+        this.days = days;
+        this.exceptions = exceptions;
+    }
+
+    public static BranchSchedule of(List<BranchWorkingHourEntity> hours, List<BranchScheduleExceptionEntity> exceptions) {
+        Day[] days = new Day[DayOfWeek.values().length];
+        for (BranchWorkingHourEntity hour : hours) {
+            int index = hour.getDayOfWeek().getValue() - 1;
+            if (days[index] == null) days[index] = Day.of(hour.getOpeningTime(), hour.getClosingTime());
+        }
+        for (int i = 0; i < days.length; i++) {
+            if (days[i] == null) days[i] = CLOSED;
+        }
+        Map<LocalDate, Day> dated = new HashMap<>();
+        for (BranchScheduleExceptionEntity exception : exceptions) {
+            dated.put(exception.getDate(), exception.isClosed()
+                    || exception.getOpeningTime() == null || exception.getClosingTime() == null
+                    ? CLOSED
+                    : Day.of(exception.getOpeningTime(), exception.getClosingTime()));
+        }
+        return new BranchSchedule(days, Map.copyOf(dated));
+    }
+
+    public boolean isOpen(LocalDate date) {
+        return day(date) != CLOSED;
+    }
+
+    public boolean isValidReserveTime(LocalDate date, LocalTime time) {
+        Day day = day(date);
+        int second = time.toSecondOfDay();
+        return day != CLOSED && second > day.openingSecond() && second < day.closingSecond() && isSlotAligned(time);
+    }
+
+    public static boolean isSlotAligned(LocalTime time) {
+        return time.toSecondOfDay() % (SLOT_MINUTES * 60) == 0;
+    }
+
+    public List<LocalTime> slots(LocalDate date) {
+        return day(date).slots();
+    }
+
+    public List<LocalTime> slotsBetween(LocalDate date, int fromMinute, int toMinute) {
+        List<LocalTime> between = new ArrayList<>();
+        for (LocalTime slot : day(date).slots()) {
+            int minute = slot.toSecondOfDay() / 60;
+            if (minute > toMinute) break;
+            if (minute >= fromMinute) between.add(slot);
+        }
+        return between;
+    }
+
+    private Day day(LocalDate date) {
+        Day exception = exceptions.get(date);
+        return exception != null ? exception : days[date.getDayOfWeek().getValue() - 1];
+    }
+
+    record Day(int openingSecond, int closingSecond, List<LocalTime> slots) {
+        static Day of(LocalTime opening, LocalTime closing) {
+            int openingSecond = opening.toSecondOfDay();
+            int closingSecond = closing.toSecondOfDay();
+            List<LocalTime> slots = new ArrayList<>();
+            int first = (openingSecond / 60 / SLOT_MINUTES + 1) * SLOT_MINUTES;
+            for (int minute = first; minute < 24 * 60 && minute * 60 < closingSecond; minute += SLOT_MINUTES) {
+                slots.add(LocalTime.ofSecondOfDay(minute * 60L));
+            }
+            return new Day(openingSecond, closingSecond, List.copyOf(slots));
+        }
+    }
+}
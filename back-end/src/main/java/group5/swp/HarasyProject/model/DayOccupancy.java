@@ -0,0 +1,119 @@
+package group5.swp.HarasyProject.model;
+
+import group5.swp.HarasyProject.utils.IntervalTree;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table occupancy of one branch on one date. A booking holds its tables for the
+ * half-open interval {@code [time, time + dining minutes)}; a stay from the day before that
+ * runs past midnight is kept too, shifted by one day so it starts before 00:00. Every table keeps a bitmap of
+ * the 30-minute slots (from midnight) its bookings touch, which rules out most conflicts
+ * with one mask test, and an interval tree of its bookings for the exact check. Writers
+ * rebuild the maps and publish them, readers never lock.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DayOccupancy {
+    public static final int SLOT_MINUTES = 30;
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int SLOTS_PER_DAY = MINUTES_PER_DAY / SLOT_MINUTES;
+
+    final Map<Integer, Booking> bookings = new HashMap<>();
+    volatile Map<Integer, Long> touchedSlots = Map.of();
+    volatile Map<Integer, IntervalTree> intervals = Map.of();
+
+    public synchronized void put(int reservationId, Booking booking) {
+        bookings.put(reservationId, booking);
+        rebuild();
+    }
+
+    public synchronized void putAll(Map<Integer, Booking> bookings) {
+        this.bookings.putAll(bookings);
+        rebuild();
+    }
+
+    public synchronized void remove(int reservationId) {
+        if (bookings.remove(reservationId) != null) rebuild();
+    }
+
+    public boolean isFree(int tableId, LocalTime time, int minutes) {
+        int start = toMinute(time);
+        int end = start + minutes;
+        if ((touchedSlots.getOrDefault(tableId, 0L) & slotMask(start, end)) == 0) return true;
+        IntervalTree tree = intervals.get(tableId);
+        return tree == null || !tree.overlaps(start, end);
+    }
+
+    public int freeCapacity(TableCapacitySnapshot tables, LocalTime time, int minutes) {
+        return freeCapacity(tables, time, minutes, Set.of());
+    }
+
+    public int freeCapacity(TableCapacitySnapshot tables, LocalTime time, int minutes, Set<Integer> heldTableIds) {
+        int total = 0;
+        for (int i = 0; i < tables.size(); i++) {
+            int tableId = tables.tableId(i);
+            if (isFree(tableId, time, minutes) && !heldTableIds.contains(tableId)) total += tables.capacity(i);
+        }
+        return total;
+    }
+
+    private void rebuild() {
+        Map<Integer, Long> slots = new HashMap<>();
+        Map<Integer, List<int[]>> tableIntervals = new HashMap<>();
+        for (Booking booking : bookings.values()) {
+            long mask = slotMask(booking.start(), booking.end());
+            for (int tableId : booking.tableIds()) {
+                slots.merge(tableId, mask, (a, b) -> a | b);
+                tableIntervals.computeIfAbsent(tableId, id -> new ArrayList<>())
+                        .add(new int[]{booking.start(), booking.end()});
+            }
+        }
+        Map<Integer, IntervalTree> trees = new HashMap<>();
+        tableIntervals.forEach((tableId, list) -> trees.put(tableId, IntervalTree.of(list)));
+        intervals = Map.copyOf(trees);
+        touchedSlots = Map.copyOf(slots);
+    }
+
+    /**
+     * Slots touched by {@code [start, end)}. Two intervals can only overlap if their masks
+     * share a slot, so an empty intersection proves a table is free.
+     */
+    static long slotMask(int start, int end) {
+        int first = Math.max(0, start / SLOT_MINUTES);
+        int last = Math.min(SLOTS_PER_DAY - 1, (end - 1) / SLOT_MINUTES);
+        long mask = 0;
+        for (int slot = first; slot <= last; slot++) mask |= 1L << slot;
+        return mask;
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public record Booking(int start, int end, int[] tableIds) {
+        public static Booking of(LocalTime time, int minutes, Collection<Integer> tableIds) {
+            int start = toMinute(time);
+            return new Booking(start, start + minutes, tableIds.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        public boolean endsAfterMidnight() {
+            return end > MINUTES_PER_DAY;
+        }
+
+        /**
+         * The same stay on the next date's clock, starting before its midnight, so it
+         * blocks that date's first slots.
+         */
+        public Booking onNextDay() {
+            return new Booking(start - MINUTES_PER_DAY, end - MINUTES_PER_DAY, tableIds);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package group5.swp.HarasyProject.model;
+
+/**
+ * State of one idempotency key in Redis: claimed by a request still running, or done
+ * with the JSON of the response to replay. {@code fingerprint} identifies the request
+ * body the key was first used with.
+ */
+public record IdempotencyRecord(boolean done, String fingerprint, String response) {
+
+    public static IdempotencyRecord pending(String fingerprint) {
+        return new IdempotencyRecord(false, fingerprint, null);
+    }
+
+    public static IdempotencyRecord done(String fingerprint, String response) {
+        return new IdempotencyRecord(true, fingerprint, response);
+    }
+
+    public String encode() {
+        return done ? "D;" + fingerprint + ";" + response : "P;" + fingerprint;
+    }
+
+    public static IdempotencyRecord decode(String value) {
+        String[] parts = value.split(";", 3);
+        return parts[0].equals("D") ? done(parts[1], parts[2]) : pending(parts[1]);
+    }
+}
@@ -0,0 +1,88 @@
+package group5.swp.HarasyProject.model;
+
+import group5.swp.HarasyProject.enums.KitchenStation;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Open tickets of one branch, one priority queue per station ordered by due time, then
+ * order and food. Finished tickets leave the queue.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KitchenQueue {
+    static final Comparator<KitchenTicket> PRIORITY = Comparator.comparing(KitchenTicket::dueAt)
+            .thenComparingInt(KitchenTicket::orderId)
+            .thenComparingInt(KitchenTicket::foodId);
+
+    Map<KitchenStation, NavigableSet<KitchenTicket>> stations = new EnumMap<>(KitchenStation.class);
+    Map<Long, KitchenTicket> tickets = new HashMap<>();
+
+    public KitchenQueue(List<KitchenTicket> tickets) {
+        tickets.forEach(this::put);
+    }
+
+    public synchronized List<KitchenTicket> tickets(KitchenStation station) {
+        NavigableSet<KitchenTicket> queue = stations.get(station);
+        return queue == null ? List.of() : List.copyOf(queue);
+    }
+
+    /**
+     * The first pending ticket of a station together with every other pending ticket of the
+     * same dish, so identical dishes across tables are cooked as one batch.
+     */
+    public synchronized List<KitchenTicket> nextBatch(KitchenStation station) {
+        NavigableSet<KitchenTicket> queue = stations.get(station);
+        if (queue == null) return List.of();
+        KitchenTicket head = queue.stream().filter(KitchenTicket::isPending).findFirst().orElse(null);
+        if (head == null) return List.of();
+        return queue.stream()
+                .filter(ticket -> ticket.isPending() && ticket.foodId() == head.foodId())
+                .toList();
+    }
+
+    public synchronized List<KitchenTicket> cooking(KitchenStation station, int foodId) {
+        NavigableSet<KitchenTicket> queue = stations.get(station);
+        if (queue == null) return List.of();
+        List<KitchenTicket> cooking = new ArrayList<>();
+        for (KitchenTicket ticket : queue) {
+            if (!ticket.isPending() && ticket.foodId() == foodId) cooking.add(ticket);
+        }
+        return cooking;
+    }
+
+    public synchronized KitchenTicket get(int orderId, int foodId) {
+        return tickets.get(key(orderId, foodId));
+    }
+
+    public synchronized void put(KitchenTicket ticket) {
+        remove(ticket.orderId(), ticket.foodId());
+        if (ticket.isDone()) return;
+        tickets.put(key(ticket.orderId(), ticket.foodId()), ticket);
+        stations.computeIfAbsent(ticket.station(), station -> new TreeSet<>(PRIORITY)).add(ticket);
+    }
+
+    public synchronized void remove(int orderId, int foodId) {
+        KitchenTicket ticket = tickets.remove(key(orderId, foodId));
+        if (ticket != null) stations.get(ticket.station()).remove(ticket);
+    }
+
+    public synchronized void removeOrder(int orderId) {
+        tickets.values().stream()
+                .filter(ticket -> ticket.orderId() == orderId)
+                .toList()
+                .forEach(ticket -> remove(ticket.orderId(), ticket.foodId()));
+    }
+
+    private static long key(int orderId, int foodId) {
+        return (long) orderId << 32 | (foodId & 0xffffffffL);
+    }
+}
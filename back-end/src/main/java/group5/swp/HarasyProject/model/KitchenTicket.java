@@ -0,0 +1,27 @@
+package group5.swp.HarasyProject.model;
+
+import group5.swp.HarasyProject.enums.KitchenStation;
+import group5.swp.HarasyProject.enums.OrderItemStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order item waiting at a kitchen station. {@code dueAt} is the reservation time
+ * for reservation orders and the order time for walk-ins, so tickets are worked in the
+ * order guests need them.
+ */
+public record KitchenTicket(int orderId, int foodId, String foodName, int quantity, int cooked,
+                            OrderItemStatus status, KitchenStation station, LocalDateTime dueAt) {
+
+    public KitchenTicket withProgress(int quantity, int cooked, OrderItemStatus status) {
+        return new KitchenTicket(orderId, foodId, foodName, quantity, cooked, status, station, dueAt);
+    }
+
+    public boolean isPending() {
+        return status == OrderItemStatus.PENDING;
+    }
+
+    public boolean isDone() {
+        return status == OrderItemStatus.COOKED;
+    }
+}
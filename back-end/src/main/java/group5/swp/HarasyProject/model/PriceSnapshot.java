@@ -0,0 +1,24 @@
+package group5.swp.HarasyProject.model;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Immutable prices of every food, read in one query and replaced as a whole when a food
+ * changes. {@code version} is the latest food modification time in epoch milliseconds,
+ * so every instance labels the same prices with the same version.
+ */
+public record PriceSnapshot(long version, Map<Integer, FoodPrice> foods) {
+    public static final PriceSnapshot EMPTY = new PriceSnapshot(0, Map.of());
+
+    public FoodPrice get(int foodId) {
+        return foods.get(foodId);
+    }
+
+    public boolean containsAll(Collection<Integer> foodIds) {
+        return foodIds.stream().allMatch(foodId -> foodId != null && foods.containsKey(foodId));
+    }
+
+    public record FoodPrice(int foodId, String name, long price, int pointsPrice) {
+    }
+}
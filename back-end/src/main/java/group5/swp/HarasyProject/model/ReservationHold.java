@@ -0,0 +1,56 @@
+package group5.swp.HarasyProject.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tables set aside for a customer while they fill in the reservation form. Holds live
+ * only in Redis and disappear with their TTL; {@link #encode()} is the stored form.
+ */
+public record ReservationHold(String token, int branchId, LocalDate date, LocalTime time, int minutes,
+                              int seats, List<Integer> tableIds, long expiresAt) {
+
+    public boolean overlaps(LocalTime start, int minutes) {
+        int holdStart = time.toSecondOfDay() / 60;
+        int otherStart = start.toSecondOfDay() / 60;
+        return otherStart < holdStart + this.minutes && holdStart < otherStart + minutes;
+    }
+
+    /**
+     * One {@code tableId:date:slot} key per table and slot the hold touches, on the same
+     * grid as the reservation slot claims; a stay past midnight continues on the next day.
+     */
+    public List<String> slotKeys() {
+        int minute = time.toSecondOfDay() / 60;
+        int firstSlot = minute / DayOccupancy.SLOT_MINUTES;
+        int lastSlot = (minute + minutes - 1) / DayOccupancy.SLOT_MINUTES;
+        List<String> keys = new ArrayList<>();
+        for (int tableId : tableIds) {
+            for (int slot = firstSlot; slot <= lastSlot; slot++) {
+                keys.add(tableId + ":" + date.plusDays(slot / DayOccupancy.SLOTS_PER_DAY)
+                        + ":" + slot % DayOccupancy.SLOTS_PER_DAY);
+            }
+        }
+        return keys;
+    }
+
+    public String encode() {
+        return String.join(";", token, String.valueOf(branchId), date.toString(), time.toString(),
+                String.valueOf(minutes), String.valueOf(seats), String.valueOf(expiresAt),
+                tableIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    public static ReservationHold decode(String value) {
+        String[] parts = value.split(";", -1);
+        List<Integer> tableIds = parts[7].isEmpty()
+                ? List.of()
+                : Arrays.stream(parts[7].split(",")).map(Integer::valueOf).toList();
+        return new ReservationHold(parts[0], Integer.parseInt(parts[1]), LocalDate.parse(parts[2]),
+                LocalTime.parse(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]), tableIds,
+                Long.parseLong(parts[6]));
+    }
+}
@@ -0,0 +1,10 @@
+package group5.swp.HarasyProject.model;
+
+import java.time.LocalDate;
+
+/**
+ * Revenue of one rollup period over all branches, read straight from a JPQL constructor
+ * expression so no row goes through {@code Object[]}.
+ */
+public record RevenuePoint(LocalDate periodStart, long revenue) {
+}
@@ -0,0 +1,6 @@
+package group5.swp.HarasyProject.model;
+
+import java.time.LocalDate;
+
+public record SlotClaim(int tableId, LocalDate date, int slot, int reservationId) {
+}
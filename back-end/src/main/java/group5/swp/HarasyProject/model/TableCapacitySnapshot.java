@@ -0,0 +1,44 @@
+package group5.swp.HarasyProject.model;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Comparator;
+import java.util.List;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TableCapacitySnapshot {
+    int[] tableIds;
+    int[] capacities;
+
+    private TableCapacitySnapshot(int[] tableIds, int[] capacities) {
+        this.tableIds = tableIds;
+        this.capacities = capacities;
+    }
+
+    public static TableCapacitySnapshot of(List<TableEntity> tables) {
+        List<TableEntity> sorted = tables.stream()
+                .sorted(Comparator.comparingInt(TableEntity::getCapacity).reversed())
+                .toList();
+        int[] ids = new int[sorted.size()];
+        int[] capacities = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            ids[i] = sorted.get(i).getId();
+            capacities[i] = sorted.get(i).getCapacity();
+        }
+        return new TableCapacitySnapshot(ids, capacities);
+    }
+
+    public int size() {
+        return tableIds.length;
+    }
+
+    public int tableId(int index) {
+        return tableIds[index];
+    }
+
+    public int capacity(int index) {
+        return capacities[index];
+    }
+}
@@ -0,0 +1,13 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.branch.BranchScheduleExceptionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BranchScheduleExceptionRepository extends JpaRepository<BranchScheduleExceptionEntity, Integer> {
+    List<BranchScheduleExceptionEntity> findAllByBranchIdAndDateGreaterThanEqualOrderByDate(int branchId, LocalDate date);
+}
@@ -4,7 +4,12 @@ package group5.swp.HarasyProject.repository;
 import group5.swp.HarasyProject.entity.branch.BranchWorkingHourEntity;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
 @Repository
 public interface BranchWorkingHourRepository extends JpaRepository<BranchWorkingHourEntity,Integer> {
     BranchWorkingHourEntity findBranchWorkingHourEntityByBranchId(int branchId);
+
+    List<BranchWorkingHourEntity> findAllByBranchId(int branchId);
 }
@@ -3,6 +3,9 @@ package group5.swp.HarasyProject.repository;
 import group5.swp.HarasyProject.entity.account.AccountEntity;
 import group5.swp.HarasyProject.entity.account.CustomerAccountEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +15,10 @@ import java.util.Optional;
 public interface CustomerAccountRepository extends JpaRepository<CustomerAccountEntity, Integer> {
     Optional<CustomerAccountEntity> findByAccount(AccountEntity account);
 
+    @Modifying
+    @Query("update CustomerAccountEntity c " +
+            "set c.vipPoint = case when c.vipPoint + :delta < 0 then 0 else c.vipPoint + :delta end " +
+            "where c.id = :customerId")
+    int addVipPoint(@Param("customerId") int customerId, @Param("delta") long delta);
+
 }
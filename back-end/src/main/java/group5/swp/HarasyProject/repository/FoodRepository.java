@@ -3,8 +3,13 @@ package group5.swp.HarasyProject.repository;
 
 import group5.swp.HarasyProject.entity.food.FoodEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FoodRepository extends JpaRepository<FoodEntity, Integer> {
+    @Query("select f.id, f.name, f.price, f.pointsPrice, coalesce(f.updatedDate, f.createdDate) from FoodEntity f")
+    List<Object[]> findPrices();
 }
@@ -0,0 +1,76 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.enums.OrderItemStatus;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes kitchen progress of many order items with one {@code UPDATE ... CASE} statement
+ * per chunk instead of one statement per item.
+ */
+@Repository
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class OrderItemJdbcRepository {
+    static final int CHUNK_SIZE = 200;
+
+    JdbcTemplate jdbcTemplate;
+    AuditorAware<String> auditorAware;
+
+    public void updateProgress(List<ItemProgress> items) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String updatedBy = auditorAware.getCurrentAuditor().orElse(null);
+        for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+            List<ItemProgress> chunk = items.subList(from, Math.min(items.size(), from + CHUNK_SIZE));
+            String when = String.join(" ", Collections.nCopies(chunk.size(), "when order_id = ? and food_id = ? then ?"));
+            String keys = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)"));
+            String sql = "update orders_item set status = case " + when + " end, cooked = case " + when
+                    + " end, updated_date = ?, updated_by = ? where (order_id, food_id) in (" + keys + ")";
+            List<Object> args = new ArrayList<>();
+            for (ItemProgress item : chunk) {
+                args.add(item.orderId());
+                args.add(item.foodId());
+                args.add(item.status().name());
+            }
+            for (ItemProgress item : chunk) {
+                args.add(item.orderId());
+                args.add(item.foodId());
+                args.add(item.cooked());
+            }
+            args.add(now);
+            args.add(updatedBy);
+            for (ItemProgress item : chunk) {
+                args.add(item.orderId());
+                args.add(item.foodId());
+            }
+            jdbcTemplate.update(sql, args.toArray());
+        }
+    }
+
+    public void addCookedItemCounts(Map<Integer, Integer> deltas) {
+        if (deltas.isEmpty()) return;
+        String when = String.join(" ", Collections.nCopies(deltas.size(), "when ? then ?"));
+        String keys = String.join(", ", Collections.nCopies(deltas.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        deltas.forEach((orderId, delta) -> {
+            args.add(orderId);
+            args.add(delta);
+        });
+        args.addAll(deltas.keySet());
+        jdbcTemplate.update("update orders set cooked_item_count = cooked_item_count + case order_id " + when
+                + " end where order_id in (" + keys + ")", args.toArray());
+    }
+
+    public record ItemProgress(int orderId, int foodId, OrderItemStatus status, int cooked) {
+    }
+}
@@ -4,8 +4,12 @@ package group5.swp.HarasyProject.repository;
 import group5.swp.HarasyProject.entity.order.OrderItemEntity;
 import group5.swp.HarasyProject.entity.order.OrderItemId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,4 +19,18 @@ public interface OrderItemRepository extends JpaRepository<OrderItemEntity, Orde
     List<OrderItemEntity> findByOrderId(int orderId);
 
     Optional<OrderItemEntity> findByOrderIdAndFoodId(int orderId, int foodId);
+
+    @Query("select o.id, f.id, f.name, i.quantity, i.cooked, i.status, c.station, o.createdDate, r.date, r.time " +
+            "from OrderItemEntity i join i.order o join i.food f left join f.category c left join o.reservation r " +
+            "where o.branch.id = :branchId and o.paymentStatus <> 'PAYED' and i.status <> 'COOKED'")
+    List<Object[]> findKitchenTickets(@Param("branchId") int branchId);
+
+    @Query("select o.branch.id, i.id.foodId, max(i.foodName), sum(i.total), sum(i.quantity) " +
+            "from OrderItemEntity i join i.order o " +
+            "where o.paymentStatus = 'PAYED' and o.createdDate >= :from " +
+            "group by o.branch.id, i.id.foodId")
+    List<Object[]> sumPaidSalesSince(@Param("from") Timestamp from);
+
+    @Query("select i from OrderItemEntity i join fetch i.order o join fetch i.food where o.id in :orderIds")
+    List<OrderItemEntity> findWithOrderByOrderIdIn(@Param("orderIds") Collection<Integer> orderIds);
 }
@@ -0,0 +1,23 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.order.OrderSummaryEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummaryEntity, Integer> {
+    List<OrderSummaryEntity> findByOrderIdLessThanOrderByOrderIdDesc(int before, Limit limit);
+
+    List<OrderSummaryEntity> findByBranchIdAndOrderIdLessThanOrderByOrderIdDesc(int branchId, int before, Limit limit);
+
+    List<OrderSummaryEntity> findByCustomerIdAndOrderIdLessThanOrderByOrderIdDesc(int customerId, int before, Limit limit);
+
+    @Query("select o.id from OrderEntity o " +
+            "where not exists (select 1 from OrderSummaryEntity s where s.orderId = o.id) " +
+            "order by o.id")
+    List<Integer> findOrdersWithoutSummary(Limit limit);
+}
@@ -0,0 +1,12 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.order.PaymentEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<PaymentEntity, Long> {
+    List<PaymentEntity> findByOrderIdOrderByIdAsc(int orderId);
+}
@@ -0,0 +1,140 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationSlotClaimEntity;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts reservations together with their orders and table links using JDBC batches,
+ * for imports that would otherwise cost several statements per reservation through JPA.
+ * Generated ids are written back to the given entities.
+ */
+@Repository
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public class ReservationJdbcRepository {
+    static final String INSERT_ORDER = """
+            insert into orders (total, payment_status, cus_id, branch_id, note, created_date, created_by)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+    static final String INSERT_ORDER_TABLE = "insert into orders_table (order_id, table_id) values (?, ?)";
+    static final String INSERT_RESERVATION = """
+            insert into reservation (reservation_date, reservation_time, amount_guest, price, deposit, status,
+                                     customer_id, branch_id, order_id, reservation_type_id, version,
+                                     created_date, created_by)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)
+            """;
+    static final String INSERT_RESERVATION_TABLE = "insert into reservation_table (reservation_id, table_id) values (?, ?)";
+    static final String INSERT_CLAIM = """
+            insert into reservation_slot_claim (reservation_id, table_id, claim_date, slot)
+            values (?, ?, ?, ?)
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    AuditorAware<String> auditorAware;
+
+    public void insertReservations(List<ReservationEntity> reservations) {
+        if (reservations.isEmpty()) return;
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String createdBy = auditorAware.getCurrentAuditor().orElse(null);
+
+        List<OrderEntity> orders = reservations.stream().map(ReservationEntity::getOrder).toList();
+        List<Integer> orderIds = insertWithKeys(INSERT_ORDER, orders.size(), (ps, i) -> {
+            OrderEntity order = orders.get(i);
+            ps.setLong(1, order.getTotal());
+            ps.setString(2, order.getPaymentStatus().name());
+            ps.setObject(3, order.getCustomer() != null ? order.getCustomer().getId() : null, Types.INTEGER);
+            ps.setInt(4, order.getBranch().getId());
+            ps.setString(5, order.getNote());
+            ps.setTimestamp(6, now);
+            ps.setString(7, createdBy);
+        });
+        for (int i = 0; i < orders.size(); i++) orders.get(i).setId(orderIds.get(i));
+        insertLinks(INSERT_ORDER_TABLE, orders.stream().map(order -> links(order.getId(), order.getTables())).toList());
+
+        List<Integer> reservationIds = insertWithKeys(INSERT_RESERVATION, reservations.size(), (ps, i) -> {
+            ReservationEntity reservation = reservations.get(i);
+            ps.setDate(1, Date.valueOf(reservation.getDate()));
+            ps.setTime(2, Time.valueOf(reservation.getTime()));
+            ps.setInt(3, reservation.getAmountGuest());
+            ps.setLong(4, reservation.getPrice());
+            ps.setLong(5, reservation.getDeposit());
+            ps.setString(6, reservation.getStatus().name());
+            ps.setObject(7, reservation.getCustomer() != null ? reservation.getCustomer().getId() : null, Types.INTEGER);
+            ps.setInt(8, reservation.getBranch().getId());
+            ps.setInt(9, reservation.getOrder().getId());
+            ps.setInt(10, reservation.getType().getId());
+            ps.setTimestamp(11, now);
+            ps.setString(12, createdBy);
+        });
+        for (int i = 0; i < reservations.size(); i++) {
+            reservations.get(i).setId(reservationIds.get(i));
+            reservations.get(i).setVersion(0L);
+        }
+        insertLinks(INSERT_RESERVATION_TABLE, reservations.stream()
+                .map(reservation -> links(reservation.getId(), reservation.getTables())).toList());
+    }
+
+    public void insertClaims(List<ReservationSlotClaimEntity> claims) {
+        if (claims.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_CLAIM, claims, claims.size(), (ps, claim) -> {
+            ps.setInt(1, claim.getReservation().getId());
+            ps.setInt(2, claim.getTable().getId());
+            ps.setDate(3, Date.valueOf(claim.getDate()));
+            ps.setInt(4, claim.getSlot());
+        });
+    }
+
+    private List<Integer> insertWithKeys(String sql, int size, RowSetter setter) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setter.setValues(ps, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).intValue())
+                .toList();
+    }
+
+    private void insertLinks(String sql, List<List<int[]>> links) {
+        List<int[]> rows = new ArrayList<>();
+        links.forEach(rows::addAll);
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setInt(1, row[0]);
+            ps.setInt(2, row[1]);
+        });
+    }
+
+    private static List<int[]> links(int ownerId, List<TableEntity> tables) {
+        if (tables == null) return List.of();
+        return tables.stream().map(table -> new int[]{ownerId, table.getId()}).toList();
+    }
+
+    @FunctionalInterface
+    interface RowSetter {
+        void setValues(PreparedStatement ps, int i) throws SQLException;
+    }
+}
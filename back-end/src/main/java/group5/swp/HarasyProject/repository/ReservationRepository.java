@@ -13,42 +13,6 @@ import java.util.List;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<ReservationEntity, Integer> {
-    @Query(value = """                    
-            select ts.slot_time, sum(t.capacity)
-                   from tables t
-                            left join reservation_table rt
-                                      on t.table_id = rt.table_id
-                            left join reservation r
-                                      on rt.reservation_id = r.reservation_id
-                            join (:timeSlots) AS ts (slot_time)
-                   where t.branch_id = :branchId
-                     and t.status = 'AVAILABLE'
-                     and (r.reservation_date is null
-                       or (
-                              r.reservation_date = :date
-                                  and (
-                                  r.status <> 'APPROVED'
-                                      or (
-                                      r.status = 'APPROVED'
-                                          and
-                                      r.reservation_time not between SUBTIME(slot_time, '1:30') AND ADDTIME(slot_time, '1:30')
-                                      )
-                                  )
-                              )
-                       or (r.reservation_date <> :date
-                           AND NOT EXISTS (SELECT 1
-                                           FROM reservation_table rt2
-                                                    JOIN reservation r2
-                                                         ON rt2.reservation_id = r2.reservation_id
-                                           WHERE r2.reservation_date = :date
-                                             AND rt2.table_id = t.table_id))
-                       )
-                   group by slot_time
-                   having sum(t.capacity) >= :amountGuest
-                   order by slot_time;
-            """, nativeQuery = true)
-    List<String> getAvailableTime(int branchId, String timeSlots, LocalDate date, int amountGuest);
-
     @Query("""
                     select r from ReservationEntity r
                     where r.branch.id = :branchId
@@ -62,6 +26,26 @@ public interface ReservationRepository extends JpaRepository<ReservationEntity,
 
     Page<ReservationEntity> findAllByCustomerId(Pageable pageable, int customerId);
 
+    @Query("""
+                    select r.id, r.time, r.type, t.id
+                    from ReservationEntity r
+                             join r.tables t
+                    where t.branch.id = :branchId
+                    and r.date = :date
+                    and r.status in ('PENDING', 'APPROVED')
+            """)
+    List<Object[]> findBookedTables(int branchId, LocalDate date);
+
+    @Query("""
+                    select r.id, r.date, r.time, r.type, t.id
+                    from ReservationEntity r
+                             join r.tables t
+                    where t.branch.id = :branchId
+                    and r.date between :from and :to
+                    and r.status in ('PENDING', 'APPROVED')
+            """)
+    List<Object[]> findBookedTablesBetween(int branchId, LocalDate from, LocalDate to);
+
     @Query("""
     select r from ReservationEntity r
     where r.status = 'APPROVED'
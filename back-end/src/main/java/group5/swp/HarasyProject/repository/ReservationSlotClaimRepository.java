@@ -0,0 +1,30 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.reservation.ReservationSlotClaimEntity;
+import group5.swp.HarasyProject.model.SlotClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationSlotClaimRepository extends JpaRepository<ReservationSlotClaimEntity, Long> {
+
+    @Modifying
+    @Query("delete from ReservationSlotClaimEntity c where c.reservation.id = :reservationId")
+    void deleteByReservation(int reservationId);
+
+    @Modifying
+    @Query("delete from ReservationSlotClaimEntity c where c.reservation.id in :reservationIds")
+    void deleteByReservationIn(List<Integer> reservationIds);
+
+    @Query("select new group5.swp.HarasyProject.model.SlotClaim(c.table.id, c.date, c.slot, c.reservation.id) " +
+            "from ReservationSlotClaimEntity c where c.table.id in :tableIds and c.date in :dates")
+    List<SlotClaim> findClaims(@Param("tableIds") Collection<Integer> tableIds,
+                               @Param("dates") Collection<LocalDate> dates);
+}
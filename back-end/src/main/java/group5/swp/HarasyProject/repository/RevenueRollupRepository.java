@@ -0,0 +1,133 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
+import group5.swp.HarasyProject.entity.order.RevenueRollupEntity;
+import group5.swp.HarasyProject.entity.order.RevenueRollupId;
+import group5.swp.HarasyProject.model.BranchMonthRevenue;
+import group5.swp.HarasyProject.model.RevenuePoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue reads over {@code revenue_rollup}. Every query is a range over
+ * {@code (grain, period_start)}, touching one row per branch and period instead of
+ * every paid order.
+ */
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollupEntity, RevenueRollupId> {
+    @Modifying
+    @Query(value = """
+            insert into revenue_rollup (grain, branch_id, period_start, revenue, order_count)
+            values ('DAY', :branchId, :day, :amount, 1),
+                   ('MONTH', :branchId, :month, :amount, 1),
+                   ('YEAR', :branchId, :year, :amount, 1)
+            on duplicate key update revenue = revenue + values(revenue),
+                                    order_count = order_count + values(order_count)
+            """, nativeQuery = true)
+    void addRevenue(@Param("branchId") int branchId, @Param("day") LocalDate day, @Param("month") LocalDate month,
+                    @Param("year") LocalDate year, @Param("amount") long amount);
+
+    @Modifying
+    @Query(value = """
+            delete from revenue_rollup
+            where grain = :grain and period_start >= :from and period_start < :to
+            """, nativeQuery = true)
+    void deleteRollups(@Param("grain") String grain, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Half-open range over {@code created_date} behind an equality on
+     * {@code payment_status}, answered by a range scan of
+     * {@code idx_orders_status_created} without touching the table rows.
+     */
+    @Modifying
+    @Query(value = """
+            insert into revenue_rollup (grain, branch_id, period_start, revenue, order_count)
+            select 'DAY', o.branch_id, date(o.created_date), sum(o.total), count(*)
+            from orders o
+            where o.payment_status = 'PAYED'
+              and o.created_date >= :from and o.created_date < :to
+            group by o.branch_id, date(o.created_date)
+            """, nativeQuery = true)
+    void rebuildDays(@Param("from") Timestamp from, @Param("to") Timestamp to);
+
+    @Modifying
+    @Query(value = """
+            insert into revenue_rollup (grain, branch_id, period_start, revenue, order_count)
+            select 'MONTH', r.branch_id, date_sub(r.period_start, interval day(r.period_start) - 1 day),
+                   sum(r.revenue), sum(r.order_count)
+            from revenue_rollup r
+            where r.grain = 'DAY' and r.period_start >= :from and r.period_start < :to
+            group by r.branch_id, date_sub(r.period_start, interval day(r.period_start) - 1 day)
+            """, nativeQuery = true)
+    void rebuildMonths(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = """
+            insert into revenue_rollup (grain, branch_id, period_start, revenue, order_count)
+            select 'YEAR', r.branch_id, makedate(year(r.period_start), 1), sum(r.revenue), sum(r.order_count)
+            from revenue_rollup r
+            where r.grain = 'MONTH' and r.period_start >= :from and r.period_start < :to
+            group by r.branch_id, makedate(year(r.period_start), 1)
+            """, nativeQuery = true)
+    void rebuildYears(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(value = "select min(o.created_date) from orders o where o.payment_status = 'PAYED'", nativeQuery = true)
+    Timestamp findFirstPaidDate();
+
+    @Query("select sum(r.revenue) from RevenueRollupEntity r " +
+            "where r.id.grain = 'DAY' and r.id.periodStart = :day")
+    Long sumDay(@Param("day") LocalDate day);
+
+    @Query("select new group5.swp.HarasyProject.model.RevenuePoint(r.id.periodStart, sum(r.revenue)) " +
+            "from RevenueRollupEntity r " +
+            "where r.id.grain = 'DAY' and r.id.periodStart >= :from and r.id.periodStart < :to " +
+            "group by r.id.periodStart order by r.id.periodStart")
+    List<RevenuePoint> sumDaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select sum(r.revenue) from RevenueRollupEntity r " +
+            "where r.id.grain = 'MONTH' and r.id.periodStart = :month")
+    Long sumMonth(@Param("month") LocalDate month);
+
+    @Query("select new group5.swp.HarasyProject.model.RevenuePoint(r.id.periodStart, sum(r.revenue)) " +
+            "from RevenueRollupEntity r " +
+            "where r.id.grain = 'MONTH' and r.id.periodStart >= :from and r.id.periodStart < :to " +
+            "group by r.id.periodStart order by r.id.periodStart")
+    List<RevenuePoint> sumMonthsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select sum(r.revenue) from RevenueRollupEntity r " +
+            "where r.id.grain = 'YEAR' and r.id.periodStart = :year")
+    Long sumYear(@Param("year") LocalDate year);
+
+    @Query("select new group5.swp.HarasyProject.model.RevenuePoint(r.id.periodStart, sum(r.revenue)) " +
+            "from RevenueRollupEntity r " +
+            "where r.id.grain = 'YEAR' " +
+            "group by r.id.periodStart order by r.id.periodStart")
+    List<RevenuePoint> sumYears();
+
+    @Query("select sum(r.revenue) from RevenueRollupEntity r where r.id.grain = 'YEAR'")
+    Long sumAll();
+
+    @Query("select sum(r.orderCount) from RevenueRollupEntity r where r.id.grain = 'YEAR'")
+    Integer countOrders();
+
+    @Query("select new group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse(" +
+            "b.id, b.name, sum(r.revenue), sum(r.orderCount)) " +
+            "from RevenueRollupEntity r join BranchEntity b on b.id = r.id.branchId " +
+            "where r.id.grain = 'YEAR' " +
+            "group by b.id, b.name order by b.id")
+    List<BranchRevenueResponse> sumByBranch();
+
+    @Query("select new group5.swp.HarasyProject.model.BranchMonthRevenue(" +
+            "month(r.id.periodStart), b.id, b.name, sum(r.revenue), sum(r.orderCount)) " +
+            "from RevenueRollupEntity r join BranchEntity b on b.id = r.id.branchId " +
+            "where r.id.grain = 'MONTH' " +
+            "group by month(r.id.periodStart), b.id, b.name order by month(r.id.periodStart), b.id")
+    List<BranchMonthRevenue> sumByMonthAndBranch();
+}
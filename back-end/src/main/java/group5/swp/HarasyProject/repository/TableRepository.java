@@ -5,8 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 
 @Repository
@@ -17,35 +15,11 @@ public interface TableRepository extends JpaRepository<TableEntity, Integer> {
             "where t.branch.id = ?1 ")
     List<TableEntity> getTableByBBranch(int branchId);
 
-    @Query("""
-                        select t
-                        from TableEntity t
-                                 left join t.reservations r
-                        where t.branch.id = :branchId
-                          and t.status = 'AVAILABLE'
-                          and (r  is null
-                            or (
-                                   r.date = :date
-                                       and (
-                                       r.status <> 'APPROVED'
-                                           or (
-                                           r.status = 'APPROVED'
-                                               and
-                                            (r.time < :minTime
-                                                                     OR r.time > :maxTime)
-                                           )
-                                       )
-                                   )
-                            or (r.date <> :date
-                                AND NOT EXISTS (SELECT rt
-                                                    FROM TableEntity rt
-                                                        JOIN rt.reservations r2
-                                                    WHERE r2.date = :date
-                                                    AND rt.id = t.id))
-                            )
-                        order by t.capacity desc
-            """)
-    List<TableEntity> getAvailableForReserve(int branchId, LocalDate date, LocalTime minTime, LocalTime maxTime);
+    @Query("select t " +
+            "from TableEntity t " +
+            "where t.branch.id = ?1 " +
+            "and t.status = 'AVAILABLE'")
+    List<TableEntity> getReservableTables(int branchId);
 
 
 }
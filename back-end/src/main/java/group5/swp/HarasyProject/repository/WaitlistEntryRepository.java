@@ -0,0 +1,9 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.reservation.WaitlistEntryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntryEntity, Integer> {
+}
@@ -0,0 +1,18 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BestSellerResponse;
+import group5.swp.HarasyProject.enums.BestSellerWindow;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface BestSellerService {
+    ApiResponse<List<BestSellerResponse>> getBestSellers(Integer branchId, BestSellerWindow window, int size);
+
+    /**
+     * When the window was last seeded from the database, or null before the first seed;
+     * later payments through this instance are added on top.
+     */
+    Timestamp getSeededAt(BestSellerWindow window);
+}
@@ -0,0 +1,20 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.request.branch.BranchScheduleExceptionRequest;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.branch.BranchScheduleExceptionResponse;
+import group5.swp.HarasyProject.model.BranchSchedule;
+
+import java.util.List;
+
+public interface BranchScheduleService {
+    BranchSchedule getSchedule(int branchId);
+
+    void evictSchedule(int branchId);
+
+    ApiResponse<List<BranchScheduleExceptionResponse>> getUpcomingExceptions(int branchId);
+
+    ApiResponse<BranchScheduleExceptionResponse> addException(int branchId, BranchScheduleExceptionRequest request);
+
+    ApiResponse<?> deleteException(int exceptionId);
+}
@@ -2,21 +2,35 @@ package group5.swp.HarasyProject.service;
 
 
 import group5.swp.HarasyProject.dto.request.order.OrderRequest;
+import group5.swp.HarasyProject.dto.request.order.PaymentRequest;
 import group5.swp.HarasyProject.dto.request.reservation.CheckReserveTimeRequest;
 import group5.swp.HarasyProject.dto.request.reservation.CustomerReserveRequest;
 import group5.swp.HarasyProject.dto.request.reservation.ReservationRequest;
+import group5.swp.HarasyProject.dto.request.reservation.ReservationStatusBatchRequest;
 import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderPaymentsResponse;
 import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import group5.swp.HarasyProject.dto.response.reservation.AvailabilityCalendarResponse;
 import group5.swp.HarasyProject.dto.response.reservation.AvailableReserveTimeResponse;
+import group5.swp.HarasyProject.dto.response.reservation.ReservationBatchResultResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationTypeResonse;
+import group5.swp.HarasyProject.dto.response.reservation.ReservationHoldResponse;
+import group5.swp.HarasyProject.dto.response.reservation.WaitlistEntryResponse;
+import group5.swp.HarasyProject.dto.response.revenue.DailyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.MonthlyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.RevenueSeriesResponse;
+import group5.swp.HarasyProject.dto.response.revenue.YearlyRevenueResponse;
 import group5.swp.HarasyProject.dto.response.table.TableResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface BusinessManagementService {
@@ -24,6 +38,8 @@ public interface BusinessManagementService {
 
     ApiResponse<List<OrderResponse>> getAllInTimeOrders(int branchId);
 
+    SseEmitter subscribeKitchenFeed(int branchId);
+
     ApiResponse<Page<OrderResponse>> getAllCusOrders(Pageable pageable, int customerId);
 
     ApiResponse<OrderResponse> getOrder(int orderId);
@@ -34,12 +50,31 @@ public interface BusinessManagementService {
 
     ApiResponse<OrderResponse> deleteOrderItem(int orderId, int foodId);
 
+    ApiResponse<OrderPaymentsResponse> payOrder(int orderId, List<PaymentRequest> requests);
+
+    ApiResponse<OrderPaymentsResponse> getOrderPayments(int orderId);
+
     ApiResponse<AvailableReserveTimeResponse> getAvailableReserveTime(CheckReserveTimeRequest request);
 
+    ApiResponse<AvailabilityCalendarResponse> getAvailabilityCalendar(int branchId, LocalDate from, LocalDate to,
+                                                                     int amountGuest, Integer typeId);
+
     ApiResponse<ReservationResponse> customerReservation(CustomerReserveRequest request);
 
     ApiResponse<ReservationResponse> createReservation(ReservationRequest request);
 
+    ApiResponse<WaitlistEntryResponse> joinWaitlist(CustomerReserveRequest request);
+
+    ApiResponse<WaitlistEntryResponse> cancelWaitlistEntry(int entryId);
+
+    ApiResponse<ReservationHoldResponse> holdReservation(CheckReserveTimeRequest request);
+
+    ApiResponse<ReservationHoldResponse> releaseHold(String token);
+
+    ApiResponse<List<ReservationBatchResultResponse>> createReservations(List<ReservationRequest> requests);
+
+    ApiResponse<List<ReservationBatchResultResponse>> updateReservationStatuses(ReservationStatusBatchRequest request);
+
     ApiResponse<Page<ReservationResponse>> getAllReservationsInBranch(Pageable pageable, Boolean isHistory, int branchId);
 
     ApiResponse<Page<ReservationResponse>> getAllCusReservations(Pageable pageable, int customerId);
@@ -52,22 +87,27 @@ public interface BusinessManagementService {
 
     Long getRevenueByDay(LocalDate specificDate);
 
-    List<Object[]> getDailyRevenueInMonth(int month, int year);
+    ApiResponse<List<DailyRevenueResponse>> getDailyRevenueInMonth(int month, int year);
+
+    ApiResponse<RevenueSeriesResponse> getDailyRevenueSeriesInMonth(int month, int year);
 
     Long getRevenueByMonth(int month, int year);
 
-    List<Object[]> getMonthlyRevenueInYear(int year);
+    ApiResponse<List<MonthlyRevenueResponse>> getMonthlyRevenueInYear(int year);
+
+    ApiResponse<RevenueSeriesResponse> getMonthlyRevenueSeriesInYear(int year);
 
     Long getRevenueByYear(int year);
 
-    List<Object[]> getTotalRevenueForAllYears();
+    ApiResponse<List<YearlyRevenueResponse>> getTotalRevenueForAllYears();
+
+    ApiResponse<RevenueSeriesResponse> getTotalRevenueSeriesForAllYears();
 
     Long getRevenueAll();
 
     Integer getTotalOrders();
 
-    List<Object[]> getBranchesTotalRevenue();
-    List<Object[]> getBranchesTotalRevenueInMonth();
+    ApiResponse<List<BranchRevenueResponse>> getBranchesTotalRevenue();
 
-    List<Object[]> getBestSeller();
+    ApiResponse<Map<Integer, List<BranchRevenueResponse>>> getBranchesTotalRevenueInMonth();
 }
@@ -0,0 +1,8 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.DashboardResponse;
+
+public interface DashboardService {
+    ApiResponse<DashboardResponse> getDashboard();
+}
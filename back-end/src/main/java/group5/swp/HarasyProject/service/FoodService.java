@@ -19,4 +19,6 @@ public interface FoodService {
 
     FoodEntity getFoodEntity(int id);
 
+    FoodEntity getFoodReference(int id);
+
 }
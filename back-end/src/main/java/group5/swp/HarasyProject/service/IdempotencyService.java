@@ -0,0 +1,10 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    <T> ApiResponse<T> execute(String scope, String key, Object request, Class<T> dataType,
+                               Supplier<ApiResponse<T>> action);
+}
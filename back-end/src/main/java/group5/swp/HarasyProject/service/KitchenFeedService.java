@@ -0,0 +1,15 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface KitchenFeedService {
+    /**
+     * Registers the subscriber, then reads {@code snapshot} and sends it ahead of any delta
+     * committed in between.
+     */
+    SseEmitter subscribe(int branchId, Supplier<List<OrderResponse>> snapshot);
+}
@@ -0,0 +1,19 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.request.kitchen.KitchenItemRequest;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.kitchen.KitchenBatchResponse;
+import group5.swp.HarasyProject.dto.response.kitchen.KitchenTicketResponse;
+import group5.swp.HarasyProject.enums.KitchenStation;
+
+import java.util.List;
+
+public interface KitchenQueueService {
+    ApiResponse<List<KitchenTicketResponse>> getStationQueue(int branchId, KitchenStation station);
+
+    ApiResponse<KitchenBatchResponse> fireNext(int branchId, KitchenStation station);
+
+    ApiResponse<KitchenBatchResponse> bump(int branchId, KitchenStation station, int foodId);
+
+    ApiResponse<List<KitchenTicketResponse>> updateItems(List<KitchenItemRequest> requests);
+}
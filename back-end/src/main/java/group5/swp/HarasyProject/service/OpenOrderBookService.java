@@ -0,0 +1,16 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OpenOrderBookService {
+    List<OrderResponse> getOpenOrders(int branchId);
+
+    Optional<OrderResponse> getOpenOrder(int orderId);
+
+    void put(OrderResponse order);
+
+    void evictBranch(int branchId);
+}
@@ -0,0 +1,13 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderHistoryResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+
+public interface OrderHistoryService {
+    void recordCreated(OrderEntity order);
+
+    void project(OrderEntity order);
+
+    ApiResponse<OrderHistoryResponse> getHistory(Integer branchId, Integer customerId, Integer before, int size);
+}
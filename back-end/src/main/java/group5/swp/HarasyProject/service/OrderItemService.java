@@ -2,7 +2,9 @@ package group5.swp.HarasyProject.service;
 
 import group5.swp.HarasyProject.dto.request.order.OrderItemRequest;
 import group5.swp.HarasyProject.dto.response.order.OrderItemResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
 import group5.swp.HarasyProject.entity.order.OrderItemEntity;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
 
 import java.util.List;
 
@@ -20,4 +22,14 @@ public interface OrderItemService {
     OrderItemEntity mapUpdateOrderItem(OrderItemRequest request, OrderItemEntity orderItemEntity);
 
     void deleteItem(int orderId, int foodId);
+
+    void deleteItems(List<OrderItemEntity> items);
+
+    void publishDelta(OrderItemEntity item, OrderItemDeltaType type);
+
+    void publishDelta(int branchId, int orderId, OrderItemResponse item, OrderItemDeltaType type);
+
+    OrderItemResponse toResponse(OrderItemEntity item);
+
+    void publishOrderClosed(OrderEntity order);
 }
@@ -1,13 +1,16 @@
 package group5.swp.HarasyProject.service;
 
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
 import group5.swp.HarasyProject.dto.response.order.OrderResponse;
 import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.model.RevenuePoint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface OrderService {
@@ -19,33 +22,38 @@ public interface OrderService {
 
     List<OrderEntity> getBranchOrdersInTime(int branchId);
 
+    List<OrderEntity> getOrdersInTime();
+
+    int reconcileTotals();
+
     OrderEntity getOrderById(int id);
 
+    OrderEntity lockOrder(int id);
+
     OrderEntity save(OrderEntity order);
 
     OrderResponse toResponse(OrderEntity order);
 
     Long getRevenueByDay(LocalDate specificDate);
 
-    List<Object[]> getDailyRevenueInMonth(int month, int year);
+    List<RevenuePoint> getDailyRevenueInMonth(int month, int year);
 
     Long getRevenueByMonth(int month, int year);
 
-    List<Object[]> getMonthlyRevenueInYear(int year);
+    List<RevenuePoint> getMonthlyRevenueInYear(int year);
 
     Long getRevenueByYear(int year);
 
-    List<Object[]> getTotalRevenueForAllYears();
+    List<RevenuePoint> getTotalRevenueForAllYears();
 
     Long getRevenueAll();
 
     Integer getTotalOrders();
 
-    List<Object[]> getBranchesTotalRevenue();
+    List<BranchRevenueResponse> getBranchesTotalRevenue();
 
-    List<Object[]> getBranchesTotalRevenueInMonth();
+    Map<Integer, List<BranchRevenueResponse>> getBranchesTotalRevenueInMonth();
 
-    List<Object[]> getBestSellers();
 
 
 }
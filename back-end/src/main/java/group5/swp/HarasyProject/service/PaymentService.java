@@ -0,0 +1,15 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.request.order.PaymentRequest;
+import group5.swp.HarasyProject.dto.response.order.OrderPaymentsResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+
+import java.util.List;
+
+public interface PaymentService {
+    void pay(OrderEntity order, List<PaymentRequest> requests);
+
+    void payBalance(OrderEntity order);
+
+    OrderPaymentsResponse toResponse(OrderEntity order);
+}
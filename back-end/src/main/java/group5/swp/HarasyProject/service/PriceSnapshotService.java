@@ -0,0 +1,12 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.model.PriceSnapshot;
+
+import java.util.Collection;
+
+public interface PriceSnapshotService {
+    PriceSnapshot forOrder(OrderEntity order, Collection<Integer> foodIds);
+
+    void refresh();
+}
@@ -1,5 +1,8 @@
 package group5.swp.HarasyProject.service;
 
+import java.util.List;
+import java.util.Set;
+
 public interface RedisService {
     void addTokenToBlacklist(String jit, long expirationTime);
 
@@ -21,4 +24,24 @@ public interface RedisService {
     boolean checkForgotPasswordSession(String email);
     void deleteForgotPasswordSession(String email);
 
+    long nextWaitlistSequence();
+    void addWaitlistEntry(String day, String time, String entryId, double score);
+    String findBestWaitlistEntry(String day, String time, double maxScore);
+    Double getWaitlistScore(String day, String time, String entryId);
+    boolean removeWaitlistEntry(String day, String time, String entryId);
+    Set<String> getWaitlistTimes(String day);
+    void removeWaitlistTimeIfEmpty(String day, String time);
+
+    void addReservationHold(String day, String token, String hold, long expiresAt);
+    String takeReservationHold(String token);
+    Set<String> getReservationHolds(String day, long now);
+    void removeReservationHold(String day, String hold);
+    List<Integer> claimHoldSlots(List<String> slots, String token, long ttlMillis);
+    void releaseHoldSlots(List<String> slots, String token);
+
+    boolean claimIdempotencyKey(String key, String record, long ttlMillis);
+    String getIdempotencyRecord(String key);
+    void storeIdempotencyRecord(String key, String record, long ttlMillis);
+    void deleteIdempotencyKey(String key);
+
 }
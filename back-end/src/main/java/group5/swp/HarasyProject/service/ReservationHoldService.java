@@ -0,0 +1,30 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.model.ReservationHold;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface ReservationHoldService {
+    /**
+     * Claims every table for every slot of the stay in one atomic step. If another live
+     * hold already owns any of them nothing is claimed, the contested table ids are added
+     * to {@code contended} and the result is empty.
+     */
+    Optional<ReservationHold> createHold(int branchId, LocalDate date, LocalTime time, int minutes,
+                                         List<TableEntity> tables, Set<Integer> contended);
+
+    Optional<ReservationHold> takeHold(String token);
+
+    void confirmHold(ReservationHold hold);
+
+    Optional<ReservationHold> releaseHold(String token);
+
+    List<ReservationHold> getHolds(int branchId, LocalDate date);
+
+    Set<Integer> getHeldTableIds(int branchId, LocalDate date, LocalTime time, int minutes);
+}
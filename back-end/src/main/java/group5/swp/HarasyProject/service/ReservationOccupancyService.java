@@ -0,0 +1,29 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.reservation.SlotCapacityResponse;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.model.DayOccupancy;
+import group5.swp.HarasyProject.model.ReservationHold;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+public interface ReservationOccupancyService {
+    List<SlotCapacityResponse> getSlotCapacities(int branchId, LocalDate date, List<LocalTime> timeSlots,
+                                                 int minutes, List<ReservationHold> holds);
+
+    Map<LocalDate, List<Integer>> getCapacityCalendar(int branchId, LocalDate from, LocalDate to,
+                                                      Map<LocalDate, List<LocalTime>> timeSlots, int minutes);
+
+    Map<LocalDate, DayOccupancy> loadOccupancy(int branchId, LocalDate from, LocalDate to);
+
+    List<Integer> getFreeTableIds(int branchId, LocalDate date, LocalTime time, int minutes);
+
+    void onReservationSaved(ReservationEntity reservation);
+
+    void evictTables(int branchId);
+
+    void evictDay(int branchId, LocalDate date);
+}
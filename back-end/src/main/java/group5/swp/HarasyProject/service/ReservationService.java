@@ -1,22 +1,35 @@
 package group5.swp.HarasyProject.service;
 
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
+import group5.swp.HarasyProject.dto.response.reservation.SlotCapacityResponse;
 import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public interface ReservationService {
-    List<String> getAvailableTime(int branchId, String timeSlots, LocalDate date, int amountGuest);
+    List<SlotCapacityResponse> getSlotCapacities(int branchId, LocalDate date, List<LocalTime> timeSlots, int minutes);
     Page<ReservationEntity> getAllReservationsInBranch(Pageable pageable,Boolean isHistory,int branchId);
     Page<ReservationEntity> getAllCusReservations(Pageable pageable,int customerId);
 
     ReservationEntity getReservationById(int id);
     ReservationEntity saveReservation(ReservationEntity reservation);
+    List<ReservationEntity> saveReservations(List<ReservationEntity> reservations);
+    List<ReservationEntity> insertReservations(List<ReservationEntity> reservations);
+    List<ReservationEntity> getReservationsByIds(List<Integer> ids);
+
+    /**
+     * Positions in {@code reservations} of the rows whose slot claims would collide with
+     * claims already stored for other reservations, or with an earlier row in the list.
+     * New rows without an id may be passed too.
+     */
+    Set<Integer> findClaimConflicts(List<ReservationEntity> reservations);
 
     ReservationResponse toReservationResponse(ReservationEntity reservation);
 }
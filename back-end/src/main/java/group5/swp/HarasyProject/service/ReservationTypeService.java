@@ -10,5 +10,8 @@ import java.util.List;
 @Service
 public interface ReservationTypeService {
     ReservationTypeEntity getReservationTypeById(int id);
+    List<ReservationTypeEntity> getReservationTypes();
+    int getDiningMinutes(Integer typeId);
+    int getMaxDiningMinutes();
     ApiResponse<List<ReservationTypeResonse>> getAllReservationType();
 }
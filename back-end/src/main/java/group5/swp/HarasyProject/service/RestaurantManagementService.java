@@ -1,5 +1,7 @@
 package group5.swp.HarasyProject.service;
 
+import group5.swp.HarasyProject.dto.request.branch.BranchScheduleExceptionRequest;
+import group5.swp.HarasyProject.dto.response.branch.BranchScheduleExceptionResponse;
 import group5.swp.HarasyProject.dto.request.branch.BranchRequest;
 import group5.swp.HarasyProject.dto.request.food.FoodRequest;
 import group5.swp.HarasyProject.dto.request.menu.FoodInMenuRequest;
@@ -45,4 +47,10 @@ public interface RestaurantManagementService {
     ApiResponse<?> deleteMenu(Integer menuId);
     ApiResponse<?> deleteWorkingHour(int hourId);
 
+    ApiResponse<List<BranchScheduleExceptionResponse>> getScheduleExceptions(int branchId);
+
+    ApiResponse<BranchScheduleExceptionResponse> addScheduleException(int branchId, BranchScheduleExceptionRequest request);
+
+    ApiResponse<?> deleteScheduleException(int exceptionId);
+
 }
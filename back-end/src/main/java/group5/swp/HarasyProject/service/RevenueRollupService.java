@@ -0,0 +1,9 @@
+package group5.swp.HarasyProject.service;
+
+import java.time.LocalDate;
+
+public interface RevenueRollupService {
+    void rebuild();
+
+    void rebuild(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,9 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+
+import java.util.List;
+
+public interface TableAllocationStrategy {
+    List<TableEntity> allocate(int branchId, List<TableEntity> freeTables, int amountGuest);
+}
@@ -19,6 +19,7 @@ public interface TableService {
     ApiResponse<List<TableResponse>> getTablesInBranch(int branchId);
     TableEntity mapUpdateTable(TableRequest updateTable, TableEntity oldTable);
     List<TableEntity> getTables(List<Integer> tableIds);
-    List<TableEntity> getAllTablesAvailableToReserve(int branchId, LocalDate date, LocalTime time);
+    List<TableEntity> getReservableTables(int branchId);
+    List<TableEntity> getAllTablesAvailableToReserve(int branchId, LocalDate date, LocalTime time, int minutes);
     TableResponse toResponse(TableEntity table);
 };
@@ -0,0 +1,24 @@
+package group5.swp.HarasyProject.service;
+
+import group5.swp.HarasyProject.dto.response.reservation.WaitlistEntryResponse;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.WaitlistEntryEntity;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistService {
+    WaitlistEntryEntity addEntry(WaitlistEntryEntity entry);
+
+    WaitlistEntryEntity cancelEntry(int entryId);
+
+    List<LocalTime> getWaitingTimes(int branchId, LocalDate date);
+
+    Optional<WaitlistEntryEntity> pollBestFit(int branchId, LocalDate date, LocalTime time, int capacity);
+
+    void markPromoted(WaitlistEntryEntity entry, ReservationEntity reservation);
+
+    WaitlistEntryResponse toResponse(WaitlistEntryEntity entry);
+}
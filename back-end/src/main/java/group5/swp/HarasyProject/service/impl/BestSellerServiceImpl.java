@@ -0,0 +1,165 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BestSellerResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.enums.BestSellerWindow;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
+import group5.swp.HarasyProject.model.BestSellerSketch;
+import group5.swp.HarasyProject.repository.OrderItemRepository;
+import group5.swp.HarasyProject.repository.OrderRepository;
+import group5.swp.HarasyProject.service.BestSellerService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Best sellers per branch, and over all branches, for the current day, month, year and
+ * all time, kept in {@link BestSellerSketch}es so a read returns the first K counters
+ * without touching MySQL. Paid orders are added after their transaction commits. Every
+ * window is seeded from paid orders at startup; afterwards only the day and month windows
+ * are reseeded periodically, which also picks up orders paid through other instances. The
+ * year and all-time windows are too costly to rescan that often, so they follow this
+ * instance's payments and are reseeded only when a new year starts.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class BestSellerServiceImpl implements BestSellerService {
+    static final int ALL_BRANCHES = 0;
+    static final LocalDate BEGINNING = LocalDate.of(1970, 1, 1);
+    static final Set<BestSellerWindow> RESEEDED = EnumSet.of(BestSellerWindow.DAY, BestSellerWindow.MONTH);
+
+    OrderRepository orderRepository;
+    OrderItemRepository orderItemRepository;
+
+    @NonFinal
+    @Value("${order.best-sellers.capacity:64}")
+    int capacity;
+
+    Map<Key, BestSellerSketch> sketches = new ConcurrentHashMap<>();
+    Map<BestSellerWindow, LocalDate> seeded = new ConcurrentHashMap<>();
+    Map<BestSellerWindow, Timestamp> seededAt = new ConcurrentHashMap<>();
+
+    @Override
+    public ApiResponse<List<BestSellerResponse>> getBestSellers(Integer branchId, BestSellerWindow window, int size) {
+        BestSellerSketch sketch = sketches.get(new Key(branchId != null ? branchId : ALL_BRANCHES, window));
+        List<BestSellerSketch.Sale> top = sketch == null || !sketch.getStart().equals(start(window, LocalDate.now()))
+                ? List.of()
+                : sketch.top(Math.max(1, Math.min(size, capacity)));
+        return ApiResponse.<List<BestSellerResponse>>builder()
+                .data(top.stream().map(sale -> BestSellerResponse.builder()
+                                .foodName(sale.foodName())
+                                .revenue(sale.revenue())
+                                .quantity(sale.quantity())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public Timestamp getSeededAt(BestSellerWindow window) {
+        return seededAt.get(window);
+    }
+
+    @EventListener
+    public void onOrderItemDelta(OrderItemDeltaEvent event) {
+        if (event.type() != OrderItemDeltaType.ORDER_CLOSED) return;
+        OrderEntity order = orderRepository.findById(event.orderId()).orElse(null);
+        if (order == null || order.getOrderItems() == null || order.getCreatedDate() == null) return;
+        LocalDate day = order.getCreatedDate().toLocalDateTime().toLocalDate();
+        List<BestSellerSketch.Sale> sales = order.getOrderItems()
+                .stream().map(item -> new BestSellerSketch.Sale(item.getId().getFoodId(), item.getFoodName(),
+                        item.getTotal(), item.getQuantity()))
+                .toList();
+        TransactionUtil.afterCommit(() -> sales.forEach(sale -> add(event.branchId(), day, sale)));
+    }
+
+    private void add(int branchId, LocalDate day, BestSellerSketch.Sale sale) {
+        LocalDate today = LocalDate.now();
+        for (BestSellerWindow window : BestSellerWindow.values()) {
+            LocalDate start = start(window, today);
+            if (!start.equals(start(window, day))) continue;
+            for (int scope : new int[]{branchId, ALL_BRANCHES}) {
+                sketches.compute(new Key(scope, window), (key, sketch) ->
+                        sketch != null && sketch.getStart().equals(start) ? sketch : new BestSellerSketch(start, capacity))
+                        .add(sale);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDate today = LocalDate.now();
+        for (BestSellerWindow window : BestSellerWindow.values()) seed(window, today);
+        log.debug("Seeded {} best seller sketches", sketches.size());
+    }
+
+    /**
+     * Reseeds the day and month windows, and any other window that started anew since it
+     * was last seeded.
+     */
+    @Scheduled(initialDelayString = "${order.best-sellers.reseed-ms:600000}",
+            fixedDelayString = "${order.best-sellers.reseed-ms:600000}")
+    public void reseed() {
+        LocalDate today = LocalDate.now();
+        for (BestSellerWindow window : BestSellerWindow.values()) {
+            if (RESEEDED.contains(window) || !start(window, today).equals(seeded.get(window))) seed(window, today);
+        }
+        log.debug("Reseeded {} best seller sketches", sketches.size());
+    }
+
+    /**
+     * Rebuilds the sketches of one window from paid orders with one grouped query over the
+     * {@code (payment_status, created_date)} index. Orders paid while it is being read may
+     * be missed until the window is seeded again.
+     */
+    private void seed(BestSellerWindow window, LocalDate today) {
+        LocalDate start = start(window, today);
+        Timestamp readAt = new Timestamp(System.currentTimeMillis());
+        Map<Key, BestSellerSketch> fresh = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumPaidSalesSince(Timestamp.valueOf(start.atStartOfDay()))) {
+            BestSellerSketch.Sale sale = new BestSellerSketch.Sale(((Number) row[1]).intValue(), (String) row[2],
+                    ((Number) row[3]).longValue(), ((Number) row[4]).longValue());
+            for (int scope : new int[]{((Number) row[0]).intValue(), ALL_BRANCHES}) {
+                fresh.computeIfAbsent(new Key(scope, window), key -> new BestSellerSketch(start, capacity))
+                        .add(sale);
+            }
+        }
+        sketches.keySet().removeIf(key -> key.window() == window && !fresh.containsKey(key));
+        sketches.putAll(fresh);
+        seeded.put(window, start);
+        seededAt.put(window, readAt);
+    }
+
+    private static LocalDate start(BestSellerWindow window, LocalDate day) {
+        return switch (window) {
+            case DAY -> day;
+            case MONTH -> day.withDayOfMonth(1);
+            case YEAR -> day.withDayOfYear(1);
+            case ALL -> BEGINNING;
+        };
+    }
+
+    record Key(int branchId, BestSellerWindow window) {
+    }
+}
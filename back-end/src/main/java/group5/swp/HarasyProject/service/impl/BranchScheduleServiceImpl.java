@@ -0,0 +1,102 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.request.branch.BranchScheduleExceptionRequest;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.branch.BranchScheduleExceptionResponse;
+import group5.swp.HarasyProject.entity.branch.BranchScheduleExceptionEntity;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.mapper.BranchScheduleExceptionMapper;
+import group5.swp.HarasyProject.model.BranchSchedule;
+import group5.swp.HarasyProject.repository.BranchRepository;
+import group5.swp.HarasyProject.repository.BranchScheduleExceptionRepository;
+import group5.swp.HarasyProject.repository.BranchWorkingHourRepository;
+import group5.swp.HarasyProject.service.BranchScheduleService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class BranchScheduleServiceImpl implements BranchScheduleService {
+    BranchRepository branchRepository;
+    BranchWorkingHourRepository branchWorkingHourRepository;
+    BranchScheduleExceptionRepository branchScheduleExceptionRepository;
+    BranchScheduleExceptionMapper branchScheduleExceptionMapper;
+
+    Map<Integer, BranchSchedule> schedules = new ConcurrentHashMap<>();
+
+    @Override
+    public BranchSchedule getSchedule(int branchId) {
+        return schedules.computeIfAbsent(branchId, this::loadSchedule);
+    }
+
+    @Override
+    public void evictSchedule(int branchId) {
+        TransactionUtil.afterCommit(() -> schedules.remove(branchId));
+    }
+
+    @Override
+    public ApiResponse<List<BranchScheduleExceptionResponse>> getUpcomingExceptions(int branchId) {
+        return ApiResponse.<List<BranchScheduleExceptionResponse>>builder()
+                .data(branchScheduleExceptionRepository
+                        .findAllByBranchIdAndDateGreaterThanEqualOrderByDate(branchId, LocalDate.now())
+                        .stream().map(branchScheduleExceptionMapper::toResponse)
+                        .toList())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<BranchScheduleExceptionResponse> addException(int branchId, BranchScheduleExceptionRequest request) {
+        if (request.getDate() == null)
+            throw new AppException(ErrorCode.INVALID_RESERVE_DATE);
+        if (!request.isClosed() && (request.getOpeningTime() == null || request.getClosingTime() == null
+                || !request.getOpeningTime().isBefore(request.getClosingTime())))
+            throw new AppException(ErrorCode.INVALID_RESERVE_TIME);
+        BranchScheduleExceptionEntity exception = branchScheduleExceptionMapper.toEntity(request);
+        exception.setBranch(branchRepository.findById(branchId)
+                .orElseThrow(() -> new AppException(ErrorCode.BRANCH_NOT_FOUND)));
+        exception = branchScheduleExceptionRepository.save(exception);
+        evictSchedule(branchId);
+        return ApiResponse.<BranchScheduleExceptionResponse>builder()
+                .data(branchScheduleExceptionMapper.toResponse(exception))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<?> deleteException(int exceptionId) {
+        BranchScheduleExceptionEntity exception = branchScheduleExceptionRepository.findById(exceptionId)
+                .orElseThrow(() -> new AppException(ErrorCode.SCHEDULE_EXCEPTION_NOT_FOUND));
+        branchScheduleExceptionRepository.delete(exception);
+        evictSchedule(exception.getBranch().getId());
+        return ApiResponse.builder().build();
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictSchedules() {
+        schedules.clear();
+    }
+
+    private BranchSchedule loadSchedule(int branchId) {
+        if (!branchRepository.existsById(branchId))
+            throw new AppException(ErrorCode.BRANCH_NOT_FOUND);
+        log.debug("Building schedule of branch {}", branchId);
+        return BranchSchedule.of(branchWorkingHourRepository.findAllByBranchId(branchId),
+                branchScheduleExceptionRepository
+                        .findAllByBranchIdAndDateGreaterThanEqualOrderByDate(branchId, LocalDate.now()));
+    }
+}
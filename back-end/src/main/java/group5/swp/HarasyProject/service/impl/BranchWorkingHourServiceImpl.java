@@ -44,9 +44,10 @@ public class BranchWorkingHourServiceImpl implements BranchWorkingHourService {
     }
 
     @Override
-    public void deleteWorkingHour(int hourId) {
-        if(!branchWorkingHourRepository.existsById(hourId))
-            throw new AppException(ErrorCode.WORKING_HOUR_NOT_FOUND);
-        branchWorkingHourRepository.deleteById(hourId);
+    public int deleteWorkingHour(int hourId) {
+        BranchWorkingHourEntity hour = branchWorkingHourRepository.findById(hourId)
+                .orElseThrow(() -> new AppException(ErrorCode.WORKING_HOUR_NOT_FOUND));
+        branchWorkingHourRepository.delete(hour);
+        return hour.getBranch().getId();
     }
 }
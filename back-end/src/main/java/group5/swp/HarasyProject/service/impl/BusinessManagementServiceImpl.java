@@ -4,31 +4,52 @@ package group5.swp.HarasyProject.service.impl;
 import group5.swp.HarasyProject.dto.request.order.CustomerOrderRequest;
 import group5.swp.HarasyProject.dto.request.order.OrderItemRequest;
 import group5.swp.HarasyProject.dto.request.order.OrderRequest;
+import group5.swp.HarasyProject.dto.request.order.PaymentRequest;
 import group5.swp.HarasyProject.dto.request.reservation.CheckReserveTimeRequest;
 import group5.swp.HarasyProject.dto.request.reservation.CustomerReserveRequest;
 import group5.swp.HarasyProject.dto.request.reservation.ReservationRequest;
+import group5.swp.HarasyProject.dto.request.reservation.ReservationStatusBatchRequest;
 import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderPaymentsResponse;
 import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import group5.swp.HarasyProject.dto.response.reservation.AvailabilityCalendarResponse;
 import group5.swp.HarasyProject.dto.response.reservation.AvailableReserveTimeResponse;
+import group5.swp.HarasyProject.dto.response.reservation.DayAvailabilityResponse;
+import group5.swp.HarasyProject.dto.response.reservation.ReservationBatchResultResponse;
+import group5.swp.HarasyProject.dto.response.reservation.ReservationHoldResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationTypeResonse;
+import group5.swp.HarasyProject.dto.response.reservation.WaitlistEntryResponse;
+import group5.swp.HarasyProject.dto.response.reservation.SlotCapacityResponse;
+import group5.swp.HarasyProject.dto.response.revenue.DailyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.MonthlyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.RevenueSeriesResponse;
+import group5.swp.HarasyProject.dto.response.revenue.YearlyRevenueResponse;
 import group5.swp.HarasyProject.dto.response.table.TableResponse;
 import group5.swp.HarasyProject.entity.account.CustomerAccountEntity;
 import group5.swp.HarasyProject.entity.account.StaffAccountEntity;
 import group5.swp.HarasyProject.entity.branch.BranchEntity;
-import group5.swp.HarasyProject.entity.branch.BranchWorkingHourEntity;
 import group5.swp.HarasyProject.entity.branch.TableEntity;
 import group5.swp.HarasyProject.entity.order.OrderEntity;
 import group5.swp.HarasyProject.entity.order.OrderItemEntity;
 import group5.swp.HarasyProject.entity.order.OrderItemId;
 import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
 import group5.swp.HarasyProject.entity.reservation.ReservationTypeEntity;
+import group5.swp.HarasyProject.entity.reservation.WaitlistEntryEntity;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
 import group5.swp.HarasyProject.enums.OrderItemStatus;
 import group5.swp.HarasyProject.enums.PaymentStatus;
 import group5.swp.HarasyProject.enums.ReservationStatus;
 import group5.swp.HarasyProject.enums.ReservationType;
+import group5.swp.HarasyProject.event.ReservationReleasedEvent;
 import group5.swp.HarasyProject.exception.AppException;
 import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.mapper.RevenueMapper;
+import group5.swp.HarasyProject.model.BranchSchedule;
+import group5.swp.HarasyProject.model.DayOccupancy;
+import group5.swp.HarasyProject.model.PriceSnapshot;
+import group5.swp.HarasyProject.model.ReservationHold;
 import group5.swp.HarasyProject.service.*;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -36,20 +57,32 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 @RequiredArgsConstructor
 public class BusinessManagementServiceImpl implements BusinessManagementService {
+    static final int RESERVE_WINDOW_MINUTES = 120;
+    static final int MAX_CALENDAR_DAYS = 31;
+    static final int MAX_BATCH_SIZE = 500;
+    static final int MAX_HOLD_ATTEMPTS = 3;
 
     BranchService branchService;
     TableService tableService;
@@ -59,6 +92,18 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     OrderItemService orderItemService;
     ReservationService reservationService;
     ReservationTypeService reservationTypeService;
+    ReservationOccupancyService reservationOccupancyService;
+    TableAllocationStrategy tableAllocationStrategy;
+    WaitlistService waitlistService;
+    BranchScheduleService branchScheduleService;
+    ReservationHoldService reservationHoldService;
+    KitchenFeedService kitchenFeedService;
+    OpenOrderBookService openOrderBookService;
+    OrderHistoryService orderHistoryService;
+    PaymentService paymentService;
+    PriceSnapshotService priceSnapshotService;
+    PlatformTransactionManager transactionManager;
+    RevenueMapper revenueMapper;
 
 
     @Override
@@ -72,12 +117,15 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     @Override
     public ApiResponse<List<OrderResponse>> getAllInTimeOrders(int branchId) {
         return ApiResponse.<List<OrderResponse>>builder()
-                .data(orderService.getBranchOrdersInTime(branchId)
-                        .stream().map(orderService::toResponse)
-                        .toList())
+                .data(openOrderBookService.getOpenOrders(branchId))
                 .build();
     }
 
+    @Override
+    public SseEmitter subscribeKitchenFeed(int branchId) {
+        return kitchenFeedService.subscribe(branchId, () -> openOrderBookService.getOpenOrders(branchId));
+    }
+
 
     @Override
     public ApiResponse<Page<OrderResponse>> getAllCusOrders(Pageable pageable, int customerId) {
@@ -99,15 +147,17 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     @Override
     public ApiResponse<OrderResponse> getOrder(int orderId) {
         return ApiResponse.<OrderResponse>builder()
-                .data(toOrderResponse(orderId))
+                .data(openOrderBookService.getOpenOrder(orderId)
+                        .orElseGet(() -> toOrderResponse(orderId)))
                 .build();
     }
 
     @Override
+    @Transactional
     public ApiResponse<OrderResponse> createOrder(OrderRequest orderRequest) {
         OrderEntity order = buildOrderWithType(orderRequest, ReservationType.GENERAL,null);
         return ApiResponse.<OrderResponse>builder()
-                .data(toOrderResponse(order.getId()))
+                .data(refreshOpenOrder(order))
                 .build();
     }
 
@@ -132,8 +182,13 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
                 .note(orderRequest.getNote() != null ? orderRequest.getNote() : "")
                 .paymentStatus(PaymentStatus.PENDING)
                 .build();
-        order.setOrderItems(createOrderItem(orderRequest, order));
-        return orderService.save(order.calculateTotal());
+        createOrderItem(orderRequest, order);
+        order = orderService.save(order);
+        orderHistoryService.recordCreated(order);
+        reservationOccupancyService.evictTables(branch.getId());
+        if (order.getOrderItems() != null)
+            order.getOrderItems().forEach(item -> orderItemService.publishDelta(item, OrderItemDeltaType.CREATED));
+        return order;
     }
 
     private OrderEntity buildWeddingOrder(OrderRequest orderRequest) {
@@ -144,22 +199,54 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     @Override
     @Transactional
     public ApiResponse<OrderResponse> updateOrder(int orderId, OrderRequest request) {
+        orderService.lockOrder(orderId);
         OrderEntity order = orderService.getOrderById(orderId);
         if (order.getPaymentStatus().equals(PaymentStatus.PAYED))
             throw new AppException(ErrorCode.ORDER_WAS_CLOSED);
         updateOrderItemInOrder(request, order);
-        createOrderItem(request, order);
+        deleteOrderItemInOrder(request, order);
+        List<OrderItemEntity> createdItems = createOrderItem(request, order);
         if (request.getNote() != null) order.setNote(request.getNote());
-        if (request.getPaymentStatus() != null) {
-            if (order.getPaymentStatus().equals(PaymentStatus.PAYED)) {
-                if (!order.isCookedAll()) throw new AppException(ErrorCode.ORDER_NOT_DONE_YET);
-            }
-            order.setPaymentStatus(request.getPaymentStatus());
+        if (request.getPaymentStatus() == PaymentStatus.PAYED) {
+            paymentService.payBalance(order);
+            order.payOrder();
         }
-        if (order.getPaymentStatus().equals(PaymentStatus.PAYED)) order.payOrder();
-        orderService.save(order.calculateTotal());
+        orderService.save(order);
+        if (createdItems != null)
+            createdItems.forEach(item -> orderItemService.publishDelta(item, OrderItemDeltaType.CREATED));
+        if (order.getPaymentStatus().equals(PaymentStatus.PAYED)) orderItemService.publishOrderClosed(order);
+        orderHistoryService.project(order);
         return ApiResponse.<OrderResponse>builder()
-                .data(toOrderResponse(order.getId()))
+                .data(refreshOpenOrder(order))
+                .build();
+    }
+
+    /**
+     * Records payments towards an open order under its row lock. The order closes once
+     * both its money and points balances are covered and stays PARTIAL until then.
+     */
+    @Override
+    @Transactional
+    public ApiResponse<OrderPaymentsResponse> payOrder(int orderId, List<PaymentRequest> requests) {
+        OrderEntity order = orderService.lockOrder(orderId);
+        if (order.getPaymentStatus().equals(PaymentStatus.PAYED))
+            throw new AppException(ErrorCode.ORDER_WAS_CLOSED);
+        paymentService.pay(order, requests);
+        if (order.isSettled()) order.payOrder();
+        else order.setPaymentStatus(PaymentStatus.PARTIAL);
+        orderService.save(order);
+        if (order.getPaymentStatus().equals(PaymentStatus.PAYED)) orderItemService.publishOrderClosed(order);
+        orderHistoryService.project(order);
+        refreshOpenOrder(order);
+        return ApiResponse.<OrderPaymentsResponse>builder()
+                .data(paymentService.toResponse(order))
+                .build();
+    }
+
+    @Override
+    public ApiResponse<OrderPaymentsResponse> getOrderPayments(int orderId) {
+        return ApiResponse.<OrderPaymentsResponse>builder()
+                .data(paymentService.toResponse(orderService.getOrderById(orderId)))
                 .build();
     }
 
@@ -172,39 +259,73 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
         return null;
     }
 
+    /**
+     * Applies item updates to the items fetched with the order; dirty checking writes them
+     * in one JDBC batch when the transaction flushes.
+     */
     private void updateOrderItemInOrder(OrderRequest request, OrderEntity order) {
         if (request.getOrderItems() != null) {
             if (request.getOrderItems().getUpdates() != null) {
+                Map<Integer, OrderItemEntity> items = itemsByFoodId(order);
                 for (OrderItemRequest orderItemRequest : request.getOrderItems().getUpdates()) {
-                    OrderItemEntity item = orderItemService
-                            .findByOrderIdAndFoodId(order.getId(), orderItemRequest.getFoodId());
+                    OrderItemEntity item = items.get(orderItemRequest.getFoodId());
+                    if (item == null) throw new AppException(ErrorCode.ORDER_ITEM_NOT_FOUND);
                     if (!item.getStatus().equals(OrderItemStatus.PENDING)) {
                         if (orderItemRequest.getQuantity() != null) {
                             if (orderItemRequest.getQuantity() <= item.getQuantity()) continue;
                         }
                     }
-                    item = orderItemService.mapUpdateOrderItem(orderItemRequest, item);
-                    orderItemService.save(item.calculatePrice());
+                    order.updateItem(item, changed -> orderItemService.mapUpdateOrderItem(orderItemRequest, changed)
+                            .calculatePrice());
+                    orderItemService.publishDelta(item, OrderItemDeltaType.UPDATED);
+                }
+            }
+        }
+    }
+
+    private void deleteOrderItemInOrder(OrderRequest request, OrderEntity order) {
+        if (request.getOrderItems() != null) {
+            if (request.getOrderItems().getDeletes() != null) {
+                Map<Integer, OrderItemEntity> items = itemsByFoodId(order);
+                List<OrderItemEntity> deleted = new ArrayList<>();
+                for (OrderItemRequest orderItemRequest : request.getOrderItems().getDeletes()) {
+                    OrderItemEntity item = items.remove(orderItemRequest.getFoodId());
+                    if (item == null) throw new AppException(ErrorCode.ORDER_ITEM_NOT_FOUND);
+                    if (!item.getStatus().equals(OrderItemStatus.PENDING))
+                        throw new AppException(ErrorCode.CANNOT_DELETE_ORDER_ITEM);
+                    deleted.add(item);
                 }
+                deleted.forEach(order::removeItem);
+                orderItemService.deleteItems(deleted);
             }
         }
     }
 
+    private Map<Integer, OrderItemEntity> itemsByFoodId(OrderEntity order) {
+        Map<Integer, OrderItemEntity> items = new HashMap<>();
+        if (order.getOrderItems() != null)
+            order.getOrderItems().forEach(item -> items.put(item.getFood().getId(), item));
+        return items;
+    }
+
     @Override
     @Transactional
     public ApiResponse<ReservationResponse> customerReservation(CustomerReserveRequest request) {
+        validateReserveTime(request.getBranchId(), request.getDate(), request.getTime());
         BranchEntity branch = branchService.getBranchEntity(request.getBranchId());
         CustomerAccountEntity customer = getCustomerAccount(request.getCustomer());
-        List<TableEntity> tables = calculateCustomerReserveTable(request.getBranchId(), request.getDate()
-                , request.getTime(), request.getAmountGuest());
+        ReservationTypeEntity type = reservationTypeService.getReservationTypeById(request.getTypeId());
+        List<TableEntity> tables = request.getHoldToken() != null
+                ? takeHeldTables(request, type.getDiningMinutes())
+                : calculateCustomerReserveTable(request.getBranchId(), request.getDate()
+                , request.getTime(), type.getDiningMinutes(), request.getAmountGuest());
         ReservationEntity reservation = ReservationEntity.builder()
                 .amountGuest(request.getAmountGuest())
                 .branch(branch)
                 .customer(customer)
                 .time(request.getTime())
                 .date(request.getDate())
-                .type(reservationTypeService
-                        .getReservationTypeById(request.getTypeId()))
+                .type(type)
                 .status(ReservationStatus.PENDING)
                 .tables(tables)
                 .order(OrderEntity.builder()
@@ -221,63 +342,232 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
 
-    private List<TableEntity> calculateCustomerReserveTable(int branchId, LocalDate date,
-                                                            LocalTime time, int amountGuest) {
-        List<TableEntity> tables = tableService.getAllTablesAvailableToReserve(branchId, date, time);
-        List<TableEntity> res = new ArrayList<>();
-        int total = 0;
-        for (TableEntity table : tables) {
-            if (total >= amountGuest) break;
-            total += table.getCapacity();
-            res.add(table);
+    private List<TableEntity> takeHeldTables(CustomerReserveRequest request, int minutes) {
+        ReservationHold hold = reservationHoldService.takeHold(request.getHoldToken())
+                .orElseThrow(() -> new AppException(ErrorCode.RESERVATION_HOLD_NOT_FOUND));
+        if (hold.branchId() != request.getBranchId() || !hold.date().equals(request.getDate())
+                || !hold.time().equals(request.getTime()) || hold.minutes() < minutes
+                || hold.seats() < request.getAmountGuest())
+            throw new AppException(ErrorCode.RESERVATION_HOLD_MISMATCH);
+        reservationHoldService.confirmHold(hold);
+        // The slot claims inserted with the reservation are the only check left at confirmation.
+        return tableService.getTables(hold.tableIds());
+    }
+
+    @Override
+    public ApiResponse<ReservationHoldResponse> holdReservation(CheckReserveTimeRequest request) {
+        validateReserveTime(request.getBranchId(), request.getDate(), request.getTime());
+        int minutes = reservationTypeService.getDiningMinutes(request.getTypeId());
+        // Another customer may claim some of the allocated tables first; allocate again
+        // without them a few times before giving up.
+        Set<Integer> contended = new HashSet<>();
+        for (int attempt = 0; attempt < MAX_HOLD_ATTEMPTS; attempt++) {
+            List<TableEntity> free = tableService.getAllTablesAvailableToReserve(request.getBranchId(),
+                            request.getDate(), request.getTime(), minutes).stream()
+                    .filter(table -> !contended.contains(table.getId()))
+                    .toList();
+            List<TableEntity> tables = tableAllocationStrategy.allocate(request.getBranchId(), free,
+                    request.getAmountGuest());
+            if (tables.isEmpty()) break;
+            Optional<ReservationHold> hold = reservationHoldService.createHold(request.getBranchId(),
+                    request.getDate(), request.getTime(), minutes, tables, contended);
+            if (hold.isPresent()) {
+                return ApiResponse.<ReservationHoldResponse>builder()
+                        .data(toHoldResponse(hold.get(), tables))
+                        .build();
+            }
+        }
+        throw new AppException(ErrorCode.NOT_ENOUGH_TABLE_FOR_RESERVE);
+    }
+
+    @Override
+    public ApiResponse<ReservationHoldResponse> releaseHold(String token) {
+        ReservationHold hold = reservationHoldService.releaseHold(token)
+                .orElseThrow(() -> new AppException(ErrorCode.RESERVATION_HOLD_NOT_FOUND));
+        return ApiResponse.<ReservationHoldResponse>builder()
+                .data(toHoldResponse(hold, tableService.getTables(hold.tableIds())))
+                .build();
+    }
+
+    private ReservationHoldResponse toHoldResponse(ReservationHold hold, List<TableEntity> tables) {
+        return ReservationHoldResponse.builder()
+                .token(hold.token())
+                .branchId(hold.branchId())
+                .date(hold.date())
+                .time(hold.time())
+                .seats(hold.seats())
+                .tables(tables.stream().map(tableService::toResponse).toList())
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAt()), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<WaitlistEntryResponse> joinWaitlist(CustomerReserveRequest request) {
+        validateReserveTime(request.getBranchId(), request.getDate(), request.getTime());
+        BranchEntity branch = branchService.getBranchEntity(request.getBranchId());
+        WaitlistEntryEntity entry = waitlistService.addEntry(WaitlistEntryEntity.builder()
+                .branch(branch)
+                .customer(getCustomerAccount(request.getCustomer()))
+                .date(request.getDate())
+                .time(request.getTime())
+                .amountGuest(request.getAmountGuest())
+                .type(reservationTypeService.getReservationTypeById(request.getTypeId()))
+                .build());
+        return ApiResponse.<WaitlistEntryResponse>builder()
+                .data(waitlistService.toResponse(entry))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<WaitlistEntryResponse> cancelWaitlistEntry(int entryId) {
+        return ApiResponse.<WaitlistEntryResponse>builder()
+                .data(waitlistService.toResponse(waitlistService.cancelEntry(entryId)))
+                .build();
+    }
+
+    /**
+     * Promotes waiting parties off the cancelling request's thread. Every waiting time is
+     * promoted in its own transaction, so one failure only skips that time and never
+     * reaches the client whose cancel has already committed.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationReleased(ReservationReleasedEvent event) {
+        int releasedMinute = event.time().toSecondOfDay() / 60;
+        // Tables are checked for the longest stay so that any waiting party fits the freed interval.
+        int minutes = reservationTypeService.getMaxDiningMinutes();
+        Set<Integer> usedTables = new HashSet<>();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        for (LocalTime time : waitlistService.getWaitingTimes(event.branchId(), event.date())) {
+            int minute = time.toSecondOfDay() / 60;
+            if (minute >= releasedMinute + event.minutes() || releasedMinute >= minute + minutes) continue;
+            Set<Integer> promotedTables = new HashSet<>(usedTables);
+            try {
+                template.executeWithoutResult(status ->
+                        promoteWaitlist(event.branchId(), event.date(), time, minutes, promotedTables));
+                usedTables.addAll(promotedTables);
+            } catch (RuntimeException e) {
+                log.warn("Waitlist promotion for branch {} on {} at {} failed", event.branchId(), event.date(), time, e);
+            }
+        }
+    }
+
+    private void promoteWaitlist(int branchId, LocalDate date, LocalTime time, int minutes, Set<Integer> usedTables) {
+        List<TableEntity> freeTables = new ArrayList<>(tableService
+                .getAllTablesAvailableToReserve(branchId, date, time, minutes));
+        freeTables.removeIf(table -> usedTables.contains(table.getId()));
+        int capacity = freeTables.stream().mapToInt(TableEntity::getCapacity).sum();
+        while (capacity > 0) {
+            Optional<WaitlistEntryEntity> polled = waitlistService.pollBestFit(branchId, date, time, capacity);
+            if (polled.isEmpty()) return;
+            WaitlistEntryEntity entry = polled.get();
+            List<TableEntity> tables = tableAllocationStrategy.allocate(branchId, freeTables, entry.getAmountGuest());
+            ReservationEntity reservation = reservationService.saveReservation(ReservationEntity.builder()
+                    .amountGuest(entry.getAmountGuest())
+                    .branch(entry.getBranch())
+                    .customer(entry.getCustomer())
+                    .time(entry.getTime())
+                    .date(entry.getDate())
+                    .type(entry.getType())
+                    .status(ReservationStatus.PENDING)
+                    .tables(tables)
+                    .order(OrderEntity.builder()
+                            .tables(tables)
+                            .paymentStatus(PaymentStatus.PENDING)
+                            .customer(entry.getCustomer())
+                            .branch(entry.getBranch())
+                            .build())
+                    .build());
+            waitlistService.markPromoted(entry, reservation);
+            log.info("Promoted waitlist entry {} to reservation {}", entry.getId(), reservation.getId());
+            tables.forEach(table -> usedTables.add(table.getId()));
+            freeTables.removeAll(tables);
+            capacity -= tables.stream().mapToInt(TableEntity::getCapacity).sum();
         }
-        return res;
+    }
+
+    private List<TableEntity> calculateCustomerReserveTable(int branchId, LocalDate date,
+                                                            LocalTime time, int minutes, int amountGuest) {
+        List<TableEntity> tables = tableAllocationStrategy.allocate(branchId,
+                tableService.getAllTablesAvailableToReserve(branchId, date, time, minutes), amountGuest);
+        if (tables.isEmpty())
+            throw new AppException(ErrorCode.NOT_ENOUGH_TABLE_FOR_RESERVE);
+        return tables;
     }
 
 
     @Override
     public ApiResponse<AvailableReserveTimeResponse> getAvailableReserveTime(CheckReserveTimeRequest request) {
-        BranchEntity branch = branchService.getBranchEntity(request.getBranchId());
-        BranchWorkingHourEntity hour = getBranchWorkingHourEntity(request, branch);
-        if (!isValidReserveTime(request.getTime(), hour))
-            throw new AppException(ErrorCode.INVALID_RESERVE_TIME);
-        LocalTime start = request.getTime().minusHours(2);
-        start = isValidReserveTime(start, hour)
-                ? start
-                : hour.getOpeningTime();
-        LocalTime end = request.getTime().plusHours(2);
-        end = isValidReserveTime(end, hour)
-                ? end
-                : hour.getClosingTime();
-        List<LocalTime> timeSlots = generateReserveTime(start, end);
-        String timeSlotsQuery = convertTimeToQuery(timeSlots);
-        List<String> availableTimes = reservationService.getAvailableTime(request.getBranchId(), timeSlotsQuery
-                , request.getDate(), request.getAmountGuest());
+        BranchSchedule schedule = validateReserveTime(request.getBranchId(), request.getDate(), request.getTime());
+        int minute = request.getTime().toSecondOfDay() / 60;
+        List<LocalTime> timeSlots = schedule.slotsBetween(request.getDate(),
+                minute - RESERVE_WINDOW_MINUTES, minute + RESERVE_WINDOW_MINUTES);
+        List<SlotCapacityResponse> slots = reservationService.getSlotCapacities(request.getBranchId()
+                , request.getDate(), timeSlots, reservationTypeService.getDiningMinutes(request.getTypeId()));
+        List<String> availableTimes = slots.stream()
+                .filter(slot -> slot.getFreeCapacity() >= request.getAmountGuest())
+                .map(SlotCapacityResponse::getTime)
+                .toList();
         return ApiResponse.<AvailableReserveTimeResponse>builder()
                 .data(AvailableReserveTimeResponse.builder()
                         .availableReservations(availableTimes)
+                        .slots(slots)
                         .build())
                 .build();
     }
 
-    private BranchWorkingHourEntity getBranchWorkingHourEntity(CheckReserveTimeRequest request, BranchEntity branch) {
-        List<BranchWorkingHourEntity> workingHours = branch.getWorkingHours();
-        BranchWorkingHourEntity hour = null;
-        for (BranchWorkingHourEntity workingHour : workingHours) {
-            DayOfWeek reserveDayOfWeek = request.getDate().getDayOfWeek();
-            DayOfWeek workingDayOfWeek = workingHour.getDayOfWeek();
-            if (reserveDayOfWeek.equals(workingDayOfWeek)) {
-                hour = workingHour;
-                break;
-            }
+    @Override
+    public ApiResponse<AvailabilityCalendarResponse> getAvailabilityCalendar(int branchId, LocalDate from,
+                                                                             LocalDate to, int amountGuest,
+                                                                             Integer typeId) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS)
+            throw new AppException(ErrorCode.INVALID_DATE_RANGE);
+        BranchSchedule schedule = branchScheduleService.getSchedule(branchId);
+        Map<LocalDate, List<LocalTime>> timeSlots = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            timeSlots.put(date, schedule.slots(date));
         }
-        if (hour == null) throw new AppException(ErrorCode.INVALID_RESERVE_DATE);
-        return hour;
+        Map<LocalDate, List<Integer>> capacities = reservationOccupancyService
+                .getCapacityCalendar(branchId, from, to, timeSlots, reservationTypeService.getDiningMinutes(typeId));
+        List<DayAvailabilityResponse> days = new ArrayList<>();
+        timeSlots.forEach((date, slots) -> {
+            List<Integer> dayCapacities = capacities.get(date);
+            List<String> availableTimes = new ArrayList<>();
+            for (int i = 0; i < slots.size(); i++) {
+                if (dayCapacities.get(i) >= amountGuest) availableTimes.add(slots.get(i).toString());
+            }
+            days.add(DayAvailabilityResponse.builder()
+                    .date(date)
+                    .firstSlot(slots.isEmpty() ? null : slots.getFirst().toString())
+                    .capacities(dayCapacities)
+                    .availableTimes(availableTimes)
+                    .build());
+        });
+        return ApiResponse.<AvailabilityCalendarResponse>builder()
+                .data(AvailabilityCalendarResponse.builder()
+                        .branchId(branchId)
+                        .from(from)
+                        .to(to)
+                        .amountGuest(amountGuest)
+                        .slotMinutes(BranchSchedule.SLOT_MINUTES)
+                        .days(days)
+                        .build())
+                .build();
+    }
+
+    private BranchSchedule validateReserveTime(int branchId, LocalDate date, LocalTime time) {
+        BranchSchedule schedule = branchScheduleService.getSchedule(branchId);
+        if (!schedule.isOpen(date)) throw new AppException(ErrorCode.INVALID_RESERVE_DATE);
+        if (!schedule.isValidReserveTime(date, time)) throw new AppException(ErrorCode.INVALID_RESERVE_TIME);
+        return schedule;
     }
 
     @Override
     public ApiResponse<List<TableResponse>> getAvailableTable(CheckReserveTimeRequest request) {
-        List<TableEntity> tables = tableService.getAllTablesAvailableToReserve(request.getBranchId(), request.getDate(), request.getTime());
+        List<TableEntity> tables = tableService.getAllTablesAvailableToReserve(request.getBranchId(), request.getDate(),
+                request.getTime(), reservationTypeService.getDiningMinutes(request.getTypeId()));
         return ApiResponse.<List<TableResponse>>builder()
                 .data(tables.stream().map(tableService::toResponse).toList())
                 .build();
@@ -292,6 +582,7 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     @Override
     @Transactional
     public ApiResponse<ReservationResponse> createReservation(ReservationRequest request) {
+        validateReserveTime(request.getBranchId(), request.getDate(), request.getTime());
         BranchEntity branch = branchService.getBranchEntity(request.getBranchId());
         CustomerAccountEntity customer = getCustomerAccount(request.getCustomer());
         List<TableEntity> tables = tableService.getTables(request.getTableIds());
@@ -336,6 +627,203 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
                 .build();
     }
 
+    @Override
+    @Transactional
+    public ApiResponse<List<ReservationBatchResultResponse>> createReservations(List<ReservationRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE)
+            throw new AppException(ErrorCode.INVALID_BATCH_REQUEST);
+        Map<Integer, ReservationTypeEntity> types = new HashMap<>();
+        reservationTypeService.getReservationTypes().forEach(type -> types.put(type.getId(), type));
+        Map<Integer, BranchEntity> branches = new HashMap<>();
+        Map<Integer, BranchSchedule> schedules = new HashMap<>();
+        Map<Integer, Map<Integer, TableEntity>> branchTables = new HashMap<>();
+        Map<Integer, Map<LocalDate, DayOccupancy>> occupancy = new HashMap<>();
+        Map<Integer, CustomerAccountEntity> customers = new HashMap<>();
+        loadBatchOccupancy(requests, occupancy);
+
+        ReservationBatchResultResponse[] results = new ReservationBatchResultResponse[requests.size()];
+        List<ReservationEntity> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationRequest request = requests.get(i);
+            try {
+                if (request.getDate() == null) throw new AppException(ErrorCode.INVALID_RESERVE_DATE);
+                if (request.getTime() == null) throw new AppException(ErrorCode.INVALID_RESERVE_TIME);
+                ReservationTypeEntity type = types.get(request.getTypeId());
+                if (type == null) throw new AppException(ErrorCode.RESERVATION_TYPE_NOT_FOUND);
+                BranchEntity branch = branches.computeIfAbsent(request.getBranchId(), branchService::getBranchEntity);
+                BranchSchedule schedule = schedules.computeIfAbsent(request.getBranchId(),
+                        branchScheduleService::getSchedule);
+                if (!schedule.isOpen(request.getDate())) throw new AppException(ErrorCode.INVALID_RESERVE_DATE);
+                if (!schedule.isValidReserveTime(request.getDate(), request.getTime()))
+                    throw new AppException(ErrorCode.INVALID_RESERVE_TIME);
+                Map<Integer, TableEntity> reservable = branchTables.computeIfAbsent(request.getBranchId(), id -> {
+                    Map<Integer, TableEntity> tables = new HashMap<>();
+                    tableService.getReservableTables(id).forEach(table -> tables.put(table.getId(), table));
+                    return tables;
+                });
+                List<TableEntity> tables = pickBatchTables(request, type.getDiningMinutes(), reservable,
+                        occupancy.get(request.getBranchId()).get(request.getDate()));
+                CustomerAccountEntity customer = getBatchCustomer(request.getCustomer(), customers);
+                ReservationStatus status = request.getStatus() != null ? request.getStatus() : ReservationStatus.APPROVED;
+                accepted.add(ReservationEntity.builder()
+                        .amountGuest(request.getAmountGuest())
+                        .branch(branch)
+                        .customer(customer)
+                        .time(request.getTime())
+                        .date(request.getDate())
+                        .type(type)
+                        .tables(tables)
+                        .status(status)
+                        .order(OrderEntity.builder()
+                                .tables(tables)
+                                .paymentStatus(PaymentStatus.PENDING)
+                                .customer(customer)
+                                .branch(branch)
+                                .note("")
+                                .build())
+                        .build());
+                acceptedIndexes.add(i);
+                if (status.isHoldingTables()) {
+                    Map<LocalDate, DayOccupancy> days = occupancy.get(request.getBranchId());
+                    DayOccupancy.Booking booking = DayOccupancy.Booking.of(request.getTime(), type.getDiningMinutes(),
+                            tables.stream().map(TableEntity::getId).toList());
+                    days.get(request.getDate()).put(-(i + 1), booking);
+                    DayOccupancy nextDay = days.get(request.getDate().plusDays(1));
+                    if (booking.endsAfterMidnight() && nextDay != null) nextDay.put(-(i + 1), booking.onNextDay());
+                }
+            } catch (AppException e) {
+                results[i] = batchFailure(i, null, e.getErrorCode());
+            }
+        }
+
+        // Claims also see stays running into dates the batch did not load; rows colliding
+        // there fail on their own instead of rolling back the batch.
+        Set<Integer> conflicts = reservationService.findClaimConflicts(accepted);
+        for (int i = accepted.size() - 1; i >= 0; i--) {
+            if (!conflicts.contains(i)) continue;
+            int index = acceptedIndexes.remove(i);
+            accepted.remove(i);
+            results[index] = batchFailure(index, null, ErrorCode.TABLE_ALREADY_RESERVED);
+        }
+        reservationService.insertReservations(accepted);
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = ReservationBatchResultResponse.builder()
+                    .index(index)
+                    .reservationId(accepted.get(i).getId())
+                    .success(true)
+                    .build();
+        }
+        return ApiResponse.<List<ReservationBatchResultResponse>>builder()
+                .data(List.of(results))
+                .build();
+    }
+
+    private void loadBatchOccupancy(List<ReservationRequest> requests, Map<Integer, Map<LocalDate, DayOccupancy>> occupancy) {
+        Map<Integer, LocalDate[]> ranges = new HashMap<>();
+        for (ReservationRequest request : requests) {
+            if (request.getDate() == null) continue;
+            ranges.merge(request.getBranchId(), new LocalDate[]{request.getDate(), request.getDate()},
+                    (a, b) -> new LocalDate[]{
+                            a[0].isBefore(b[0]) ? a[0] : b[0],
+                            a[1].isAfter(b[1]) ? a[1] : b[1]});
+        }
+        ranges.forEach((branchId, range) -> occupancy.put(branchId,
+                reservationOccupancyService.loadOccupancy(branchId, range[0], range[1])));
+    }
+
+    private List<TableEntity> pickBatchTables(ReservationRequest request, int minutes,
+                                              Map<Integer, TableEntity> reservable, DayOccupancy day) {
+        if (request.getTableIds() == null || request.getTableIds().isEmpty())
+            throw new AppException(ErrorCode.ORDER_HAVE_NO_TABLE);
+        List<TableEntity> tables = new ArrayList<>();
+        int totalCapacity = 0;
+        for (Integer tableId : new LinkedHashSet<>(request.getTableIds())) {
+            TableEntity table = reservable.get(tableId);
+            if (table == null) throw new AppException(ErrorCode.TABLE_NOT_FOUND);
+            if (!day.isFree(tableId, request.getTime(), minutes)) throw new AppException(ErrorCode.TABLE_ALREADY_RESERVED);
+            tables.add(table);
+            totalCapacity += table.getCapacity();
+        }
+        if (totalCapacity < request.getAmountGuest())
+            throw new AppException(ErrorCode.NOT_ENOUGH_TABLE_FOR_RESERVE);
+        return tables;
+    }
+
+    private CustomerAccountEntity getBatchCustomer(CustomerOrderRequest request,
+                                                   Map<Integer, CustomerAccountEntity> customers) {
+        if (request == null) return null;
+        if (request.getCustomerId() != null)
+            return customers.computeIfAbsent(request.getCustomerId(), accountService::getCustomerAccount);
+        CustomerAccountEntity customer = getCustomerAccount(request);
+        customers.put(customer.getId(), customer);
+        return customer;
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<List<ReservationBatchResultResponse>> updateReservationStatuses(ReservationStatusBatchRequest request) {
+        if (request.getIds() == null || request.getIds().isEmpty() || request.getIds().size() > MAX_BATCH_SIZE)
+            throw new AppException(ErrorCode.INVALID_BATCH_REQUEST);
+        if (request.getStatus() == null || request.getStatus().equals(ReservationStatus.DONE))
+            throw new AppException(ErrorCode.INVALID_RESERVATION_STATUS);
+        Map<Integer, ReservationEntity> reservations = new HashMap<>();
+        reservationService.getReservationsByIds(request.getIds())
+                .forEach(reservation -> reservations.put(reservation.getId(), reservation));
+        Map<Integer, ReservationStatus> previous = new HashMap<>();
+        List<ReservationEntity> changed = new ArrayList<>();
+        for (Integer id : request.getIds()) {
+            ReservationEntity reservation = reservations.get(id);
+            if (reservation == null || reservation.getStatus().equals(ReservationStatus.DONE)
+                    || reservation.getStatus().equals(request.getStatus()) || previous.containsKey(id)) continue;
+            previous.put(id, reservation.getStatus());
+            reservation.setStatus(request.getStatus());
+            changed.add(reservation);
+        }
+        // Rows whose tables were taken meanwhile fail on their own instead of rolling back the batch.
+        Set<Integer> conflicts = new HashSet<>();
+        for (int position : reservationService.findClaimConflicts(changed)) {
+            ReservationEntity reservation = changed.get(position);
+            reservation.setStatus(previous.get(reservation.getId()));
+            conflicts.add(reservation.getId());
+        }
+        changed.removeIf(reservation -> conflicts.contains(reservation.getId()));
+
+        List<ReservationBatchResultResponse> results = new ArrayList<>();
+        for (int i = 0; i < request.getIds().size(); i++) {
+            Integer id = request.getIds().get(i);
+            ReservationEntity reservation = reservations.get(id);
+            if (reservation == null) {
+                results.add(batchFailure(i, id, ErrorCode.RESERVATION_NOT_FOUND));
+            } else if (reservation.getStatus().equals(ReservationStatus.DONE)) {
+                results.add(batchFailure(i, id, ErrorCode.ORDER_WAS_CLOSED));
+            } else if (conflicts.contains(id)) {
+                results.add(batchFailure(i, id, ErrorCode.TABLE_ALREADY_RESERVED));
+            } else {
+                results.add(ReservationBatchResultResponse.builder()
+                        .index(i)
+                        .reservationId(id)
+                        .success(true)
+                        .build());
+            }
+        }
+        if (!changed.isEmpty()) reservationService.saveReservations(changed);
+        return ApiResponse.<List<ReservationBatchResultResponse>>builder()
+                .data(results)
+                .build();
+    }
+
+    private ReservationBatchResultResponse batchFailure(int index, Integer reservationId, ErrorCode errorCode) {
+        return ReservationBatchResultResponse.builder()
+                .index(index)
+                .reservationId(reservationId)
+                .success(false)
+                .code(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .build();
+    }
+
     @Override
     public ApiResponse<Page<ReservationResponse>> getAllReservationsInBranch(Pageable pageable,
                                                                              Boolean isHistory, int branchId) {
@@ -346,10 +834,12 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
 
 
     @Override
+    @Transactional
     public ApiResponse<OrderResponse> deleteOrderItem(int orderId, int foodId) {
+        orderService.lockOrder(orderId);
         orderItemService.deleteItem(orderId, foodId);
         return ApiResponse.<OrderResponse>builder()
-                .data(toOrderResponse(orderId))
+                .data(refreshOpenOrder(orderId))
                 .build();
     }
 
@@ -369,31 +859,6 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
 
-    private List<LocalTime> generateReserveTime(LocalTime start, LocalTime end) {
-        List<LocalTime> slots = new ArrayList<>();
-        while (!start.isAfter(end)) {
-            slots.add(start);
-            start = start.plusMinutes(30);
-        }
-        return slots;
-    }
-
-
-    private String convertTimeToQuery(List<LocalTime> timeSlots) {
-        List<String> query = new ArrayList<>(timeSlots.stream()
-                .map(time -> String.format("SELECT '%s' ", time.toString()))
-                .toList());
-        query.set(0, query.getFirst() + "AS slot_time ");
-        return String.join(" UNION ALL ", query);
-    }
-
-
-    private boolean isValidReserveTime(LocalTime reserveTime, BranchWorkingHourEntity workingHour) {
-        return (reserveTime.isAfter(workingHour.getOpeningTime())
-                && reserveTime.isBefore(workingHour.getClosingTime()));
-    }
-
-
     private CustomerAccountEntity getCustomerAccount(CustomerOrderRequest request) {
         int id;
         if (request.getCustomerId() != null) {
@@ -405,30 +870,47 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
     private List<OrderItemEntity> toOrderItems(List<OrderItemRequest> request, OrderEntity order) {
+        PriceSnapshot prices = priceSnapshotService.forOrder(order, request
+                .stream().map(OrderItemRequest::getFoodId)
+                .toList());
         return request
-                .stream().map(item -> toOrderItem(item, order))
+                .stream().map(item -> toOrderItem(item, prices.get(item.getFoodId()), order))
                 .toList();
     }
 
-    private OrderItemEntity toOrderItem(OrderItemRequest request, OrderEntity order) {
+    private OrderItemEntity toOrderItem(OrderItemRequest request, PriceSnapshot.FoodPrice price, OrderEntity order) {
         OrderItemEntity item = OrderItemEntity.builder()
                 .id(OrderItemId.builder()
                         .foodId(request.getFoodId())
                         .build())
                 .quantity(request.getQuantity())
                 .order(order)
-                .food(foodService.getFoodEntity(request.getFoodId()))
+                .food(foodService.getFoodReference(price.foodId()))
                 .status(OrderItemStatus.PENDING)
                 .cooked(0)
                 .build()
-                .calculatePrice();
+                .price(price);
         order.addItem(item);
         return item;
     }
 
     private OrderResponse toOrderResponse(int orderId) {
         OrderEntity order = orderService.getOrderById(orderId);
-        return orderService.toResponse(order.calculateTotal());
+        return orderService.toResponse(order);
+    }
+
+    private OrderResponse refreshOpenOrder(int orderId) {
+        OrderEntity order = orderService.getOrderById(orderId);
+        orderHistoryService.project(order);
+        OrderResponse response = orderService.toResponse(order);
+        openOrderBookService.put(response);
+        return response;
+    }
+
+    private OrderResponse refreshOpenOrder(OrderEntity order) {
+        OrderResponse response = orderService.toResponse(order);
+        openOrderBookService.put(response);
+        return response;
     }
 
     private ReservationResponse toReservationResponse(int reserveId) {
@@ -442,8 +924,17 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
     @Override
-    public List<Object[]> getDailyRevenueInMonth(int month, int year) {
-        return orderService.getDailyRevenueInMonth(month, year);
+    public ApiResponse<List<DailyRevenueResponse>> getDailyRevenueInMonth(int month, int year) {
+        return ApiResponse.<List<DailyRevenueResponse>>builder()
+                .data(revenueMapper.toDaily(orderService.getDailyRevenueInMonth(month, year)))
+                .build();
+    }
+
+    @Override
+    public ApiResponse<RevenueSeriesResponse> getDailyRevenueSeriesInMonth(int month, int year) {
+        return ApiResponse.<RevenueSeriesResponse>builder()
+                .data(revenueMapper.toDailySeries(orderService.getDailyRevenueInMonth(month, year)))
+                .build();
     }
 
     @Override
@@ -452,8 +943,17 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
     @Override
-    public List<Object[]> getMonthlyRevenueInYear(int year) {
-        return orderService.getMonthlyRevenueInYear(year);
+    public ApiResponse<List<MonthlyRevenueResponse>> getMonthlyRevenueInYear(int year) {
+        return ApiResponse.<List<MonthlyRevenueResponse>>builder()
+                .data(revenueMapper.toMonthly(orderService.getMonthlyRevenueInYear(year)))
+                .build();
+    }
+
+    @Override
+    public ApiResponse<RevenueSeriesResponse> getMonthlyRevenueSeriesInYear(int year) {
+        return ApiResponse.<RevenueSeriesResponse>builder()
+                .data(revenueMapper.toMonthlySeries(orderService.getMonthlyRevenueInYear(year)))
+                .build();
     }
 
     @Override
@@ -462,8 +962,17 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
     @Override
-    public List<Object[]> getTotalRevenueForAllYears() {
-        return orderService.getTotalRevenueForAllYears();
+    public ApiResponse<List<YearlyRevenueResponse>> getTotalRevenueForAllYears() {
+        return ApiResponse.<List<YearlyRevenueResponse>>builder()
+                .data(revenueMapper.toYearly(orderService.getTotalRevenueForAllYears()))
+                .build();
+    }
+
+    @Override
+    public ApiResponse<RevenueSeriesResponse> getTotalRevenueSeriesForAllYears() {
+        return ApiResponse.<RevenueSeriesResponse>builder()
+                .data(revenueMapper.toYearlySeries(orderService.getTotalRevenueForAllYears()))
+                .build();
     }
 
     @Override
@@ -477,17 +986,16 @@ public class BusinessManagementServiceImpl implements BusinessManagementService
     }
 
     @Override
-    public List<Object[]> getBranchesTotalRevenue() {
-        return orderService.getBranchesTotalRevenue();
-    }
-
-    @Override
-    public List<Object[]> getBranchesTotalRevenueInMonth() {
-        return orderService.getBranchesTotalRevenueInMonth();
+    public ApiResponse<List<BranchRevenueResponse>> getBranchesTotalRevenue() {
+        return ApiResponse.<List<BranchRevenueResponse>>builder()
+                .data(orderService.getBranchesTotalRevenue())
+                .build();
     }
 
     @Override
-    public List<Object[]> getBestSeller() {
-        return orderService.getBestSellers();
+    public ApiResponse<Map<Integer, List<BranchRevenueResponse>>> getBranchesTotalRevenueInMonth() {
+        return ApiResponse.<Map<Integer, List<BranchRevenueResponse>>>builder()
+                .data(orderService.getBranchesTotalRevenueInMonth())
+                .build();
     }
 }
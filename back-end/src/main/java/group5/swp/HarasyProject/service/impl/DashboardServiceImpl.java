@@ -0,0 +1,125 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BestSellerResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
+import group5.swp.HarasyProject.dto.response.dashboard.DashboardResponse;
+import group5.swp.HarasyProject.enums.BestSellerWindow;
+import group5.swp.HarasyProject.service.BestSellerService;
+import group5.swp.HarasyProject.service.DashboardService;
+import group5.swp.HarasyProject.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the admin dashboard in one request. Revenue and best sellers run in parallel on
+ * virtual threads and share one deadline; a report that fails or misses it is left out
+ * and named in {@code unavailable} instead of failing the dashboard. Branch totals and
+ * the monthly breakdown are read in one read-only repeatable-read transaction, so they
+ * agree with each other even while orders are being paid; {@code revenueAsOf} is when
+ * that read began. Best sellers come from the in-memory sketches: they include orders
+ * paid through this instance and are otherwise only as fresh as the last seed, reported
+ * as {@code bestSellersAsOf}.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+    static final int BEST_SELLERS = 5;
+    static final BestSellerWindow BEST_SELLER_WINDOW = BestSellerWindow.ALL;
+
+    OrderService orderService;
+    BestSellerService bestSellerService;
+    PlatformTransactionManager transactionManager;
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @NonFinal
+    @Value("${dashboard.timeout-ms:3000}")
+    long timeoutMs;
+
+    @Override
+    public ApiResponse<DashboardResponse> getDashboard() {
+        Future<Revenue> revenueTask = executor.submit(this::revenue);
+        Future<List<BestSellerResponse>> bestSellersTask = executor.submit(this::bestSellers);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<String> unavailable = new ArrayList<>();
+        Revenue revenue = await("branches", revenueTask, deadline, unavailable);
+        if (revenue == null) unavailable.add("branchesMonthly");
+        List<BestSellerResponse> bestSellers = await("bestSellers", bestSellersTask, deadline, unavailable);
+        List<BranchRevenueResponse> branches = revenue == null ? null : revenue.branches();
+        return ApiResponse.<DashboardResponse>builder()
+                .data(DashboardResponse.builder()
+                        .revenueAsOf(revenue == null ? null : revenue.readAt())
+                        .bestSellersAsOf(bestSellers == null ? null : bestSellerService.getSeededAt(BEST_SELLER_WINDOW))
+                        .totalRevenue(branches == null ? null : branches
+                                .stream().mapToLong(BranchRevenueResponse::getRevenue)
+                                .sum())
+                        .totalOrders(branches == null ? null : branches
+                                .stream().mapToLong(BranchRevenueResponse::getOrders)
+                                .sum())
+                        .branches(branches)
+                        .branchesMonthly(revenue == null ? null : revenue.monthly())
+                        .bestSellers(bestSellers)
+                        .unavailable(unavailable.isEmpty() ? null : unavailable)
+                        .build())
+                .build();
+    }
+
+    private Revenue revenue() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return template.execute(status -> new Revenue(new Timestamp(System.currentTimeMillis()),
+                orderService.getBranchesTotalRevenue(), orderService.getBranchesTotalRevenueInMonth()));
+    }
+
+    private List<BestSellerResponse> bestSellers() {
+        return bestSellerService.getBestSellers(null, BEST_SELLER_WINDOW, BEST_SELLERS).getData();
+    }
+
+    private <T> T await(String report, Future<T> task, long deadline, List<String> unavailable) {
+        try {
+            return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            log.warn("Dashboard report {} timed out after {} ms", report, timeoutMs);
+        } catch (ExecutionException e) {
+            log.warn("Dashboard report {} failed", report, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        unavailable.add(report);
+        return null;
+    }
+
+    record Revenue(Timestamp readAt, List<BranchRevenueResponse> branches,
+                   Map<Integer, List<BranchRevenueResponse>> monthly) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -14,6 +14,7 @@ import group5.swp.HarasyProject.repository.CategoryRepository;
 import group5.swp.HarasyProject.repository.FoodRepository;
 import group5.swp.HarasyProject.repository.MenuItemRepository;
 import group5.swp.HarasyProject.service.FoodService;
+import group5.swp.HarasyProject.service.PriceSnapshotService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -35,6 +36,7 @@ public class FoodServiceImpl implements FoodService {
     CategoryRepository categoryRepository;
     FoodMapper foodMapper;
     MenuItemRepository menuItemRepository;
+    PriceSnapshotService priceSnapshotService;
 
     @Override
     public ApiResponse<List<FoodResponse>> getAllFood(boolean includeAll) {
@@ -88,6 +90,7 @@ public class FoodServiceImpl implements FoodService {
             foodEntity.setCategory(categoryEntity);
         }
         foodEntity = foodRepository.save(foodEntity);
+        priceSnapshotService.refresh();
         FoodResponse response = foodMapper.toResponse(foodEntity);
         return ApiResponse.<FoodResponse>builder()
                 .data(response)
@@ -102,6 +105,7 @@ public class FoodServiceImpl implements FoodService {
         foodEntity.setStatus(Status.DELETED);
         foodRepository.save(foodEntity);
         menuItemRepository.deleteByFoodId(id);
+        priceSnapshotService.refresh();
         return ApiResponse.builder().build();
     }
 
@@ -109,4 +113,9 @@ public class FoodServiceImpl implements FoodService {
     public FoodEntity getFoodEntity(int id) {
         return foodRepository.findById(id).orElseThrow(()-> new AppException(ErrorCode.FOOD_NOT_FOUND));
     }
+
+    @Override
+    public FoodEntity getFoodReference(int id) {
+        return foodRepository.getReferenceById(id);
+    }
 }
@@ -0,0 +1,34 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.service.TableAllocationStrategy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "reservation.table-allocation.strategy", havingValue = "greedy")
+public class GreedyTableAllocationStrategy implements TableAllocationStrategy {
+
+    @Override
+    public List<TableEntity> allocate(int branchId, List<TableEntity> freeTables, int amountGuest) {
+        return allocateGreedy(freeTables, amountGuest);
+    }
+
+    static List<TableEntity> allocateGreedy(List<TableEntity> freeTables, int amountGuest) {
+        List<TableEntity> tables = freeTables.stream()
+                .sorted(Comparator.comparingInt(TableEntity::getCapacity).reversed())
+                .toList();
+        List<TableEntity> res = new ArrayList<>();
+        int total = 0;
+        for (TableEntity table : tables) {
+            if (total >= amountGuest) break;
+            total += table.getCapacity();
+            res.add(table);
+        }
+        return total >= amountGuest ? res : List.of();
+    }
+}
@@ -0,0 +1,197 @@
+package group5.swp.HarasyProject.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.model.IdempotencyRecord;
+import group5.swp.HarasyProject.service.IdempotencyService;
+import group5.swp.HarasyProject.service.RedisService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per idempotency key. The first request claims the key in
+ * Redis, and its response is stored there once the action has returned, which is after
+ * its transaction committed. Replays return the stored response without running the
+ * action. Duplicates arriving while the first is still running wait for it: on this
+ * instance through an in-memory future, on other instances by polling the key. A failed
+ * action releases the key so the client can retry. If Redis is down, requests run
+ * without deduplication.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+    static final long POLL_MS = 50;
+
+    RedisService redisService;
+    ObjectMapper objectMapper;
+
+    @NonFinal
+    @Value("${order.idempotency.ttl-seconds:86400}")
+    long ttlSeconds;
+
+    @NonFinal
+    @Value("${order.idempotency.lock-seconds:30}")
+    long lockSeconds;
+
+    @NonFinal
+    @Value("${order.idempotency.wait-ms:5000}")
+    long waitMs;
+
+    Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> ApiResponse<T> execute(String scope, String key, Object request, Class<T> dataType,
+                                      Supplier<ApiResponse<T>> action) {
+        if (key == null || key.isBlank()) return action.get();
+        String redisKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+        JavaType type = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+
+        InFlight own = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(redisKey, own);
+        if (running != null) {
+            if (!running.fingerprint().equals(fingerprint)) throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+            return decode(awaitLocal(running.result()), type);
+        }
+        boolean claimed = false;
+        try {
+            IdempotencyRecord existing = claim(redisKey, fingerprint);
+            if (existing != null) {
+                if (!existing.fingerprint().equals(fingerprint))
+                    throw new AppException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+                String response = existing.done() ? existing.response() : awaitRemote(redisKey);
+                own.result().complete(response);
+                return decode(response, type);
+            }
+            claimed = true;
+            ApiResponse<T> response = action.get();
+            claimed = false;
+            String json = encode(response);
+            store(redisKey, IdempotencyRecord.done(fingerprint, json));
+            own.result().complete(json);
+            return response;
+        } catch (RuntimeException e) {
+            if (claimed) release(redisKey);
+            own.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(redisKey, own);
+        }
+    }
+
+    /**
+     * Returns null when this request now owns the key, otherwise the record already there.
+     */
+    private IdempotencyRecord claim(String key, String fingerprint) {
+        try {
+            long lockMillis = TimeUnit.SECONDS.toMillis(lockSeconds);
+            while (!redisService.claimIdempotencyKey(key, IdempotencyRecord.pending(fingerprint).encode(), lockMillis)) {
+                String existing = redisService.getIdempotencyRecord(key);
+                if (existing != null) return IdempotencyRecord.decode(existing);
+            }
+            return null;
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, running request {} without idempotency", key);
+            return null;
+        }
+    }
+
+    private String awaitRemote(String key) {
+        long deadline = System.currentTimeMillis() + waitMs;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                Thread.sleep(POLL_MS);
+                String value = redisService.getIdempotencyRecord(key);
+                if (value == null) break;
+                IdempotencyRecord record = IdempotencyRecord.decode(value);
+                if (record.done()) return record.response();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable while waiting for request {}", key);
+        }
+        throw new AppException(ErrorCode.REQUEST_IN_PROGRESS);
+    }
+
+    private String awaitLocal(CompletableFuture<String> result) {
+        try {
+            return result.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException(ErrorCode.REQUEST_IN_PROGRESS);
+        } catch (TimeoutException e) {
+            throw new AppException(ErrorCode.REQUEST_IN_PROGRESS);
+        }
+    }
+
+    private void store(String key, IdempotencyRecord record) {
+        try {
+            redisService.storeIdempotencyRecord(key, record.encode(), TimeUnit.SECONDS.toMillis(ttlSeconds));
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, response of request {} not stored", key);
+        }
+    }
+
+    private void release(String key) {
+        try {
+            redisService.deleteIdempotencyKey(key);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, idempotency key {} expires with its lock", key);
+        }
+    }
+
+    private String encode(ApiResponse<?> response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> ApiResponse<T> decode(String json, JavaType type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    record InFlight(String fingerprint, CompletableFuture<String> result) {
+    }
+}
@@ -0,0 +1,165 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
+import group5.swp.HarasyProject.service.KitchenFeedService;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Server-sent event feed of open orders per branch for kitchen and waiter screens. A
+ * subscriber receives one snapshot of the open orders and then only the item deltas
+ * published after each commit, so connected screens cause no reads while nothing changes.
+ * Subscribers are kept in memory; a screen that reconnects gets a fresh snapshot.
+ * <p>
+ * A subscriber is registered before its snapshot is read and the deltas committed
+ * meanwhile wait in its queue until the snapshot is sent, so none is lost; a delta carries
+ * the item's full state, so one already reflected in the snapshot is harmless. Every send
+ * runs on a virtual thread, one drain at a time per subscriber, so the committing request
+ * never waits on a socket; a screen that falls {@value #MAX_PENDING} events behind is
+ * dropped and reconnects.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class KitchenFeedServiceImpl implements KitchenFeedService {
+    static final int MAX_PENDING = 1_000;
+
+    @NonFinal
+    @Value("${kitchen.feed.timeout-ms:1800000}")
+    long timeoutMs;
+
+    Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    AtomicLong sequence = new AtomicLong();
+    ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public SseEmitter subscribe(int branchId, Supplier<List<OrderResponse>> snapshot) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<Subscriber> branch = subscribers.computeIfAbsent(branchId, id -> ConcurrentHashMap.newKeySet());
+        Subscriber subscriber = new Subscriber(emitter, branch);
+        emitter.onCompletion(() -> branch.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> branch.remove(subscriber));
+        String id = String.valueOf(sequence.get());
+        branch.add(subscriber);
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(id)
+                    .name("snapshot")
+                    .data(snapshot.get()));
+        } catch (IOException | RuntimeException e) {
+            drop(subscriber, e);
+            return emitter;
+        }
+        subscriber.ready = true;
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderItemDelta(OrderItemDeltaEvent event) {
+        Set<Subscriber> branch = subscribers.get(event.branchId());
+        if (branch == null || branch.isEmpty()) return;
+        String id = String.valueOf(sequence.incrementAndGet());
+        for (Subscriber subscriber : branch) {
+            enqueue(subscriber, SseEmitter.event().id(id).name("delta").data(event));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${kitchen.feed.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((branchId, branch) -> {
+            for (Subscriber subscriber : branch) {
+                enqueue(subscriber, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.size.incrementAndGet() > MAX_PENDING) {
+            drop(subscriber, new IllegalStateException("more than " + MAX_PENDING + " events behind"));
+            return;
+        }
+        subscriber.pending.add(event);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.ready || subscriber.pending.isEmpty() || !subscriber.draining.compareAndSet(false, true))
+            return;
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.pending.poll()) != null) {
+                subscriber.size.decrementAndGet();
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | RuntimeException e) {
+            drop(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        schedule(subscriber);
+    }
+
+    private void drop(Subscriber subscriber, Exception e) {
+        if (!subscriber.branch.remove(subscriber)) return;
+        log.debug("Dropping kitchen feed subscriber: {}", e.getMessage());
+        subscriber.pending.clear();
+        subscriber.emitter.completeWithError(e);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    static final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Subscriber> branch;
+        final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        final AtomicInteger size = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean ready;
+
+        Subscriber(SseEmitter emitter, Set<Subscriber> branch) {
+            this.emitter = emitter;
+            this.branch = branch;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.request.kitchen.KitchenItemRequest;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.kitchen.KitchenBatchResponse;
+import group5.swp.HarasyProject.dto.response.kitchen.KitchenTicketResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderItemResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.entity.order.OrderItemEntity;
+import group5.swp.HarasyProject.entity.order.OrderItemId;
+import group5.swp.HarasyProject.enums.KitchenStation;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
+import group5.swp.HarasyProject.enums.OrderItemStatus;
+import group5.swp.HarasyProject.enums.PaymentStatus;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.model.KitchenQueue;
+import group5.swp.HarasyProject.model.KitchenTicket;
+import group5.swp.HarasyProject.repository.OrderItemJdbcRepository;
+import group5.swp.HarasyProject.repository.OrderItemRepository;
+import group5.swp.HarasyProject.service.KitchenQueueService;
+import group5.swp.HarasyProject.service.OpenOrderBookService;
+import group5.swp.HarasyProject.service.OrderHistoryService;
+import group5.swp.HarasyProject.service.OrderItemService;
+import group5.swp.HarasyProject.service.OrderService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Routes open order items to kitchen stations by the category of their food. Each branch
+ * keeps one {@link KitchenQueue} in memory, loaded with a single query and then kept up to
+ * date from the item deltas published after commit. New items carry neither station nor
+ * due time in their delta, so they evict the branch and the next read loads it again.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class KitchenQueueServiceImpl implements KitchenQueueService {
+    static final int MAX_BATCH_SIZE = 500;
+
+    OrderItemRepository orderItemRepository;
+    OrderItemJdbcRepository orderItemJdbcRepository;
+    OrderItemService orderItemService;
+    OrderService orderService;
+    OpenOrderBookService openOrderBookService;
+    OrderHistoryService orderHistoryService;
+
+    Map<Integer, KitchenQueue> queues = new ConcurrentHashMap<>();
+    Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public ApiResponse<List<KitchenTicketResponse>> getStationQueue(int branchId, KitchenStation station) {
+        return ApiResponse.<List<KitchenTicketResponse>>builder()
+                .data(getQueue(branchId).tickets(station)
+                        .stream().map(this::toResponse)
+                        .toList())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<KitchenBatchResponse> fireNext(int branchId, KitchenStation station) {
+        List<KitchenTicket> batch = advance(getQueue(branchId).nextBatch(station), OrderItemStatus.COOKING);
+        return ApiResponse.<KitchenBatchResponse>builder()
+                .data(toBatchResponse(station, batch))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public ApiResponse<KitchenBatchResponse> bump(int branchId, KitchenStation station, int foodId) {
+        List<KitchenTicket> batch = advance(getQueue(branchId).cooking(station, foodId), OrderItemStatus.COOKED);
+        return ApiResponse.<KitchenBatchResponse>builder()
+                .data(toBatchResponse(station, batch))
+                .build();
+    }
+
+    /**
+     * Applies many status and cooked changes across orders with one read of the items and
+     * bulk {@code UPDATE ... CASE} statements, then publishes one delta per changed item.
+     * Totals do not depend on status, so only the cooked item counts of the orders move.
+     * The orders are locked first, so an order being paid meanwhile is seen as closed.
+     */
+    @Override
+    @Transactional
+    public ApiResponse<List<KitchenTicketResponse>> updateItems(List<KitchenItemRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE)
+            throw new AppException(ErrorCode.INVALID_BATCH_REQUEST);
+        Set<Integer> orderIds = requests
+                .stream().map(KitchenItemRequest::getOrderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        lockOrders(orderIds);
+        Map<OrderItemId, OrderItemEntity> items = new HashMap<>();
+        orderItemRepository.findWithOrderByOrderIdIn(orderIds)
+                .forEach(item -> items.put(item.getId(), item));
+
+        List<OrderItemJdbcRepository.ItemProgress> progress = new ArrayList<>();
+        Map<Integer, Integer> cookedDeltas = new HashMap<>();
+        List<OrderItemEntity> changed = new ArrayList<>();
+        List<OrderItemResponse> responses = new ArrayList<>();
+        Set<OrderItemId> seen = new HashSet<>();
+        for (KitchenItemRequest request : requests) {
+            if (request.getOrderId() == null || request.getFoodId() == null)
+                throw new AppException(ErrorCode.INVALID_BATCH_REQUEST);
+            OrderItemId id = OrderItemId.builder()
+                    .orderId(request.getOrderId())
+                    .foodId(request.getFoodId())
+                    .build();
+            if (!seen.add(id)) throw new AppException(ErrorCode.INVALID_BATCH_REQUEST);
+            OrderItemEntity item = items.get(id);
+            if (item == null) throw new AppException(ErrorCode.ORDER_ITEM_NOT_FOUND);
+            if (item.getOrder().getPaymentStatus() == PaymentStatus.PAYED)
+                throw new AppException(ErrorCode.ORDER_WAS_CLOSED);
+            OrderItemStatus status = request.getStatus() != null ? request.getStatus() : item.getStatus();
+            int cooked = request.getCooked() != null
+                    ? request.getCooked()
+                    : status == OrderItemStatus.COOKED ? item.getQuantity() : item.getCooked();
+            if (cooked < 0 || cooked > item.getQuantity()) throw new AppException(ErrorCode.INVALID_BATCH_REQUEST);
+            if (status == item.getStatus() && cooked == item.getCooked()) continue;
+
+            progress.add(new OrderItemJdbcRepository.ItemProgress(id.getOrderId(), id.getFoodId(), status, cooked));
+            int delta = (status == OrderItemStatus.COOKED ? 1 : 0) - (item.getStatus() == OrderItemStatus.COOKED ? 1 : 0);
+            if (delta != 0) cookedDeltas.merge(id.getOrderId(), delta, Integer::sum);
+            OrderItemResponse response = orderItemService.toResponse(item);
+            response.setStatus(status);
+            response.setCooked(cooked);
+            changed.add(item);
+            responses.add(response);
+        }
+        orderItemJdbcRepository.updateProgress(progress);
+        orderItemJdbcRepository.addCookedItemCounts(cookedDeltas);
+
+        List<KitchenTicketResponse> updated = new ArrayList<>();
+        for (int i = 0; i < changed.size(); i++) {
+            OrderItemEntity item = changed.get(i);
+            OrderItemResponse response = responses.get(i);
+            orderItemService.publishDelta(item.getOrder().getBranch().getId(), item.getId().getOrderId(),
+                    response, OrderItemDeltaType.UPDATED);
+            updated.add(KitchenTicketResponse.builder()
+                    .orderId(item.getId().getOrderId())
+                    .foodId(response.getFoodId())
+                    .foodName(response.getName())
+                    .quantity(response.getQuantity())
+                    .cooked(response.getCooked())
+                    .status(response.getStatus())
+                    .build());
+        }
+        return ApiResponse.<List<KitchenTicketResponse>>builder()
+                .data(updated)
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderItemDelta(OrderItemDeltaEvent event) {
+        synchronized (this) {
+            generation(event.branchId()).incrementAndGet();
+            KitchenQueue queue = queues.get(event.branchId());
+            if (queue == null) return;
+            switch (event.type()) {
+                case CREATED -> queues.remove(event.branchId());
+                case UPDATED -> {
+                    OrderItemResponse item = event.item();
+                    KitchenTicket ticket = queue.get(event.orderId(), event.foodId());
+                    if (ticket != null)
+                        queue.put(ticket.withProgress(item.getQuantity(), item.getCooked(), item.getStatus()));
+                    else if (item.getStatus() != OrderItemStatus.COOKED) queues.remove(event.branchId());
+                }
+                case DELETED -> queue.remove(event.orderId(), event.foodId());
+                case ORDER_CLOSED -> queue.removeOrder(event.orderId());
+            }
+        }
+    }
+
+    /**
+     * Moves the tickets' items to {@code status}, skipping items another cook already moved,
+     * and refreshes their orders in the open-order book. The orders are locked before their
+     * items are read so the cooked counts written back are never stale. The queue itself
+     * follows from the deltas once the transaction commits.
+     */
+    private List<KitchenTicket> advance(List<KitchenTicket> tickets, OrderItemStatus status) {
+        if (tickets.isEmpty()) return tickets;
+        lockOrders(tickets.stream().map(KitchenTicket::orderId).toList());
+        Map<OrderItemId, KitchenTicket> byId = new HashMap<>();
+        tickets.forEach(ticket -> byId.put(OrderItemId.builder()
+                .orderId(ticket.orderId())
+                .foodId(ticket.foodId())
+                .build(), ticket));
+        List<KitchenTicket> advanced = new ArrayList<>();
+        Set<Integer> orderIds = new LinkedHashSet<>();
+        for (OrderItemEntity item : orderItemRepository.findAllById(byId.keySet())) {
+            if (item.getStatus() == OrderItemStatus.COOKED) continue;
+            if (status == OrderItemStatus.COOKING && item.getStatus() != OrderItemStatus.PENDING) continue;
+            item.getOrder().updateItem(item, changed -> {
+                changed.setStatus(status);
+                if (status == OrderItemStatus.COOKED) changed.setCooked(changed.getQuantity());
+            });
+            orderItemService.publishDelta(item, OrderItemDeltaType.UPDATED);
+            orderIds.add(item.getId().getOrderId());
+            advanced.add(byId.get(item.getId()).withProgress(item.getQuantity(), item.getCooked(), status));
+        }
+        for (Integer orderId : orderIds) {
+            OrderEntity order = orderService.getOrderById(orderId);
+            orderHistoryService.project(order);
+            openOrderBookService.put(orderService.toResponse(order));
+        }
+        return advanced;
+    }
+
+    /**
+     * Locks each distinct order once, in ascending id order, so concurrent batches over
+     * overlapping orders queue up instead of deadlocking.
+     */
+    private void lockOrders(Collection<Integer> orderIds) {
+        new TreeSet<>(orderIds).forEach(orderService::lockOrder);
+    }
+
+    private KitchenQueue getQueue(int branchId) {
+        KitchenQueue queue = queues.get(branchId);
+        if (queue != null) return queue;
+        long generation = generation(branchId).get();
+        queue = new KitchenQueue(orderItemRepository.findKitchenTickets(branchId)
+                .stream().map(this::toTicket)
+                .toList());
+        synchronized (this) {
+            if (generation(branchId).get() == generation) queues.put(branchId, queue);
+        }
+        return queue;
+    }
+
+    private KitchenTicket toTicket(Object[] row) {
+        LocalDateTime dueAt = row[8] != null
+                ? LocalDateTime.of((LocalDate) row[8], (LocalTime) row[9])
+                : ((Timestamp) row[7]).toLocalDateTime();
+        return new KitchenTicket((Integer) row[0], (Integer) row[1], (String) row[2],
+                (Integer) row[3], (Integer) row[4], (OrderItemStatus) row[5],
+                row[6] != null ? (KitchenStation) row[6] : KitchenStation.GRILL, dueAt);
+    }
+
+    private KitchenTicketResponse toResponse(KitchenTicket ticket) {
+        return KitchenTicketResponse.builder()
+                .orderId(ticket.orderId())
+                .foodId(ticket.foodId())
+                .foodName(ticket.foodName())
+                .quantity(ticket.quantity())
+                .cooked(ticket.cooked())
+                .status(ticket.status())
+                .station(ticket.station())
+                .dueAt(ticket.dueAt())
+                .build();
+    }
+
+    private KitchenBatchResponse toBatchResponse(KitchenStation station, List<KitchenTicket> batch) {
+        KitchenBatchResponse response = KitchenBatchResponse.builder()
+                .station(station)
+                .quantity(batch.stream().mapToInt(KitchenTicket::quantity).sum())
+                .tickets(batch.stream().map(this::toResponse).toList())
+                .build();
+        if (!batch.isEmpty()) {
+            response.setFoodId(batch.getFirst().foodId());
+            response.setFoodName(batch.getFirst().foodName());
+        }
+        return response;
+    }
+
+    private AtomicLong generation(int branchId) {
+        return generations.computeIfAbsent(branchId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,229 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.order.OrderItemResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderResponse;
+import group5.swp.HarasyProject.dto.response.table.TableMinimalResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
+import group5.swp.HarasyProject.enums.PaymentStatus;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
+import group5.swp.HarasyProject.event.OrderRepairedEvent;
+import group5.swp.HarasyProject.service.OpenOrderBookService;
+import group5.swp.HarasyProject.service.OrderService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Open orders ({@code paymentStatus <> PAYED}) of every branch kept in memory as read
+ * models, so order screens are served without reading MySQL. Writers push the fresh
+ * read model after commit and paid orders leave the book. Writers that only know the
+ * branch evict it and the next read loads it again. A branch is loaded only when no
+ * write committed while it was read, and a periodic check replaces branches that drifted
+ * from the database.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class OpenOrderBookServiceImpl implements OpenOrderBookService {
+    OrderService orderService;
+    PlatformTransactionManager transactionManager;
+
+    @NonFinal
+    @Value("${order.open-book.enabled:true}")
+    boolean enabled;
+
+    Map<Integer, NavigableMap<Integer, OrderResponse>> branches = new ConcurrentHashMap<>();
+    Map<Integer, Integer> orderBranches = new ConcurrentHashMap<>();
+    Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    @Override
+    public List<OrderResponse> getOpenOrders(int branchId) {
+        if (!enabled) return load(branchId);
+        NavigableMap<Integer, OrderResponse> orders = branches.get(branchId);
+        if (orders == null) orders = install(branchId, generation(branchId).get(), load(branchId));
+        return List.copyOf(orders.values());
+    }
+
+    @Override
+    public Optional<OrderResponse> getOpenOrder(int orderId) {
+        Integer branchId = orderBranches.get(orderId);
+        if (!enabled || branchId == null) return Optional.empty();
+        NavigableMap<Integer, OrderResponse> orders = branches.get(branchId);
+        return orders == null ? Optional.empty() : Optional.ofNullable(orders.get(orderId));
+    }
+
+    @Override
+    public void put(OrderResponse order) {
+        if (order.getId() == null || order.getBranch() == null) return;
+        int orderId = order.getId();
+        int branchId = order.getBranch().getId();
+        OrderResponse readModel = order.getPaymentStatus() == PaymentStatus.PAYED ? null : toReadModel(order);
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                generation(branchId).incrementAndGet();
+                NavigableMap<Integer, OrderResponse> orders = branches.get(branchId);
+                if (orders == null) return;
+                if (readModel == null) {
+                    orders.remove(orderId);
+                    orderBranches.remove(orderId);
+                } else {
+                    orders.put(orderId, readModel);
+                    orderBranches.put(orderId, branchId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void evictBranch(int branchId) {
+        TransactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                generation(branchId).incrementAndGet();
+                NavigableMap<Integer, OrderResponse> orders = branches.remove(branchId);
+                if (orders != null) orders.keySet().forEach(orderBranches::remove);
+            }
+        });
+    }
+
+    /**
+     * Item updates written in bulk by the kitchen come without a fresh order, so the item
+     * is replaced inside the cached read model.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderItemDelta(OrderItemDeltaEvent event) {
+        if (event.type() != OrderItemDeltaType.UPDATED || event.item() == null) return;
+        synchronized (this) {
+            NavigableMap<Integer, OrderResponse> orders = branches.get(event.branchId());
+            OrderResponse order = orders == null ? null : orders.get(event.orderId());
+            if (order == null || order.getOrderItems() == null) return;
+            generation(event.branchId()).incrementAndGet();
+            orders.put(event.orderId(), OrderResponse.builder()
+                    .id(order.getId())
+                    .paymentStatus(order.getPaymentStatus())
+                    .tables(order.getTables())
+                    .branch(order.getBranch())
+                    .staff(order.getStaff())
+                    .customer(order.getCustomer())
+                    .orderItems(order.getOrderItems()
+                            .stream().map(item -> item.getFoodId().equals(event.foodId()) ? event.item() : item)
+                            .toList())
+                    .total(order.getTotal())
+                    .paidAmount(order.getPaidAmount())
+                    .paidPoints(order.getPaidPoints())
+                    .orderDate(order.getOrderDate())
+                    .note(order.getNote())
+                    .build());
+        }
+    }
+
+    @EventListener
+    public void onOrderRepaired(OrderRepairedEvent event) {
+        put(event.order());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+        Map<Integer, Long> started = new HashMap<>();
+        List<OrderResponse> orders = inReadOnlyTransaction(() -> {
+            List<OrderEntity> entities = orderService.getOrdersInTime();
+            entities.forEach(order -> started.putIfAbsent(order.getBranch().getId(),
+                    generation(order.getBranch().getId()).get()));
+            return entities.stream().map(this::toReadModel).toList();
+        });
+        orders.stream()
+                .collect(Collectors.groupingBy(order -> order.getBranch().getId()))
+                .forEach((branchId, branchOrders) -> install(branchId, started.get(branchId), branchOrders));
+        log.info("Loaded {} open orders of {} branches", orders.size(), started.size());
+    }
+
+    @Scheduled(initialDelayString = "${order.open-book.verify-ms:300000}",
+            fixedDelayString = "${order.open-book.verify-ms:300000}")
+    public void verify() {
+        if (!enabled) return;
+        for (Integer branchId : List.copyOf(branches.keySet())) {
+            long generation = generation(branchId).get();
+            List<OrderResponse> fresh = load(branchId);
+            NavigableMap<Integer, OrderResponse> cached = branches.get(branchId);
+            if (cached == null || generation != generation(branchId).get()) continue;
+            if (!List.copyOf(cached.values()).equals(fresh)) {
+                log.warn("Open orders of branch {} differ from database, reloading", branchId);
+                install(branchId, generation, fresh);
+            }
+        }
+    }
+
+    private NavigableMap<Integer, OrderResponse> install(int branchId, long generation, List<OrderResponse> loaded) {
+        NavigableMap<Integer, OrderResponse> orders = new ConcurrentSkipListMap<>();
+        loaded.forEach(order -> orders.put(order.getId(), order));
+        synchronized (this) {
+            if (generation(branchId).get() != generation) return orders;
+            NavigableMap<Integer, OrderResponse> previous = branches.put(branchId, orders);
+            if (previous != null) previous.keySet().forEach(orderBranches::remove);
+            orders.keySet().forEach(orderId -> orderBranches.put(orderId, branchId));
+        }
+        return orders;
+    }
+
+    private List<OrderResponse> load(int branchId) {
+        return inReadOnlyTransaction(() -> orderService.getBranchOrdersInTime(branchId)
+                .stream().map(this::toReadModel)
+                .toList());
+    }
+
+    private OrderResponse toReadModel(OrderEntity order) {
+        return toReadModel(orderService.toResponse(order));
+    }
+
+    /**
+     * Sorts items and tables by id so a read model compares equal to a fresh load of the
+     * same order whatever order the collections came back in.
+     */
+    private OrderResponse toReadModel(OrderResponse order) {
+        if (order.getOrderItems() != null)
+            order.setOrderItems(order.getOrderItems().stream()
+                    .sorted(Comparator.comparing(OrderItemResponse::getFoodId))
+                    .toList());
+        if (order.getTables() != null)
+            order.setTables(order.getTables().stream()
+                    .sorted(Comparator.comparing(TableMinimalResponse::getId))
+                    .toList());
+        return order;
+    }
+
+    private <T> T inReadOnlyTransaction(Supplier<T> action) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> action.get());
+    }
+
+    private AtomicLong generation(int branchId) {
+        return generations.computeIfAbsent(branchId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,136 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.service.TableAllocationStrategy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Picks the tables with the fewest wasted seats, then the fewest tables. Tables are
+ * grouped by capacity and solved as a bounded knapsack; when the time budget runs out
+ * the greedy allocation is used instead.
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "reservation.table-allocation.strategy", havingValue = "optimal", matchIfMissing = true)
+public class OptimalTableAllocationStrategy implements TableAllocationStrategy {
+    static final int MEMO_SIZE = 1024;
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    @NonFinal
+    @Value("${reservation.table-allocation.time-budget-ms:20}")
+    long timeBudgetMs;
+
+    Map<MemoKey, List<Integer>> memo = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MemoKey, List<Integer>> eldest) {
+            return size() > MEMO_SIZE;
+        }
+    });
+
+    @Override
+    public List<TableEntity> allocate(int branchId, List<TableEntity> freeTables, int amountGuest) {
+        if (amountGuest <= 0 || freeTables.isEmpty()) return List.of();
+        Map<Integer, TableEntity> byId = new HashMap<>();
+        freeTables.forEach(table -> byId.put(table.getId(), table));
+        List<Long> tables = freeTables.stream()
+                .mapToLong(table -> (long) table.getId() << 32 | table.getCapacity())
+                .sorted().boxed().toList();
+        MemoKey key = new MemoKey(branchId, tables, amountGuest);
+        List<Integer> tableIds = memo.get(key);
+        if (tableIds == null) {
+            tableIds = solve(freeTables, amountGuest);
+            if (tableIds == null) {
+                // A deadline fallback says nothing about the optimum, so it is never memoized.
+                log.warn("Table allocation for {} guests exceeded {} ms, falling back to greedy", amountGuest, timeBudgetMs);
+                return GreedyTableAllocationStrategy.allocateGreedy(freeTables, amountGuest);
+            }
+            memo.put(key, tableIds);
+        }
+        return tableIds.stream().map(byId::get).toList();
+    }
+
+    /**
+     * Returns the ids of the chosen tables, or {@code null} when the time budget ran out
+     * before the solver finished.
+     */
+    private List<Integer> solve(List<TableEntity> freeTables, int amountGuest) {
+        long deadline = System.nanoTime() + timeBudgetMs * 1_000_000;
+        Map<Integer, List<TableEntity>> byCapacity = new TreeMap<>(Comparator.reverseOrder());
+        int maxCapacity = 0;
+        int totalCapacity = 0;
+        for (TableEntity table : freeTables) {
+            if (table.getCapacity() <= 0) continue;
+            byCapacity.computeIfAbsent(table.getCapacity(), c -> new ArrayList<>()).add(table);
+            maxCapacity = Math.max(maxCapacity, table.getCapacity());
+            totalCapacity += table.getCapacity();
+        }
+        if (totalCapacity < amountGuest) return List.of();
+
+        // Any selection seating amountGuest + maxCapacity or more can drop a table, so
+        // the best total always lies below that bound.
+        int limit = Math.min(totalCapacity, amountGuest + maxCapacity - 1);
+        List<int[]> bundles = new ArrayList<>();
+        byCapacity.forEach((capacity, tables) -> {
+            int remaining = tables.size();
+            for (int size = 1; remaining > 0; size <<= 1) {
+                int take = Math.min(size, remaining);
+                bundles.add(new int[]{capacity, take});
+                remaining -= take;
+            }
+        });
+
+        int[] minTables = new int[limit + 1];
+        Arrays.fill(minTables, UNREACHABLE);
+        minTables[0] = 0;
+        boolean[][] taken = new boolean[bundles.size()][limit + 1];
+        for (int b = 0; b < bundles.size(); b++) {
+            if (System.nanoTime() > deadline) return null;
+            int seats = bundles.get(b)[0] * bundles.get(b)[1];
+            int count = bundles.get(b)[1];
+            for (int sum = limit; sum >= seats; sum--) {
+                int previous = minTables[sum - seats];
+                if (previous != UNREACHABLE && previous + count < minTables[sum]) {
+                    minTables[sum] = previous + count;
+                    taken[b][sum] = true;
+                }
+            }
+        }
+
+        int best = -1;
+        for (int sum = amountGuest; sum <= limit; sum++) {
+            if (minTables[sum] != UNREACHABLE) {
+                best = sum;
+                break;
+            }
+        }
+        if (best < 0) return toIds(GreedyTableAllocationStrategy.allocateGreedy(freeTables, amountGuest));
+
+        Map<Integer, Integer> countByCapacity = new HashMap<>();
+        for (int b = bundles.size() - 1, sum = best; b >= 0 && sum > 0; b--) {
+            if (!taken[b][sum]) continue;
+            countByCapacity.merge(bundles.get(b)[0], bundles.get(b)[1], Integer::sum);
+            sum -= bundles.get(b)[0] * bundles.get(b)[1];
+        }
+        List<Integer> tableIds = new ArrayList<>();
+        countByCapacity.forEach((capacity, count) -> byCapacity.get(capacity)
+                .stream().limit(count)
+                .forEach(table -> tableIds.add(table.getId())));
+        return List.copyOf(tableIds);
+    }
+
+    private static List<Integer> toIds(List<TableEntity> tables) {
+        return tables.stream().map(TableEntity::getId).toList();
+    }
+
+    record MemoKey(int branchId, List<Long> tables, int amountGuest) {
+    }
+}
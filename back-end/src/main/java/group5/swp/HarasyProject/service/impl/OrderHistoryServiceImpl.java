@@ -0,0 +1,140 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.order.OrderHistoryResponse;
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.entity.order.OrderEventEntity;
+import group5.swp.HarasyProject.entity.order.OrderSummaryEntity;
+import group5.swp.HarasyProject.enums.OrderEventType;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
+import group5.swp.HarasyProject.mapper.OrderSummaryMapper;
+import group5.swp.HarasyProject.repository.OrderEventRepository;
+import group5.swp.HarasyProject.repository.OrderRepository;
+import group5.swp.HarasyProject.repository.OrderSummaryRepository;
+import group5.swp.HarasyProject.service.OrderHistoryService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Appends order events and projects every order change onto its {@code order_summary}
+ * row. Item events come from the item deltas, which are published inside the writing
+ * transaction, so the log, the summary and the order commit together.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class OrderHistoryServiceImpl implements OrderHistoryService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int BACKFILL_BATCH = 200;
+
+    OrderEventRepository orderEventRepository;
+    OrderSummaryRepository orderSummaryRepository;
+    OrderRepository orderRepository;
+    OrderSummaryMapper orderSummaryMapper;
+    PlatformTransactionManager transactionManager;
+
+    @Override
+    public void recordCreated(OrderEntity order) {
+        orderEventRepository.save(OrderEventEntity.builder()
+                .orderId(order.getId())
+                .branchId(order.getBranch().getId())
+                .type(OrderEventType.CREATED)
+                .build());
+        project(order);
+    }
+
+    @EventListener
+    public void onOrderItemDelta(OrderItemDeltaEvent event) {
+        OrderEventEntity.OrderEventEntityBuilder builder = OrderEventEntity.builder()
+                .orderId(event.orderId())
+                .branchId(event.branchId())
+                .foodId(event.foodId());
+        if (event.item() != null)
+            builder.quantity(event.item().getQuantity()).itemStatus(event.item().getStatus());
+        orderEventRepository.save(builder.type(switch (event.type()) {
+            case CREATED -> OrderEventType.ITEM_ADDED;
+            case UPDATED -> OrderEventType.ITEM_UPDATED;
+            case DELETED -> OrderEventType.ITEM_REMOVED;
+            case ORDER_CLOSED -> OrderEventType.PAID;
+        }).build());
+    }
+
+    @Override
+    public void project(OrderEntity order) {
+        orderSummaryRepository.save(OrderSummaryEntity.builder()
+                .orderId(order.getId())
+                .branchId(order.getBranch().getId())
+                .branchName(order.getBranch().getName())
+                .customerId(order.getCustomer() != null ? order.getCustomer().getId() : null)
+                .customerName(order.getCustomer() != null ? order.getCustomer().getAccount().getFullName() : null)
+                .customerPhone(order.getCustomer() != null ? order.getCustomer().getAccount().getPhone() : null)
+                .staffName(order.getStaff() != null ? order.getStaff().getAccount().getFullName() : null)
+                .tableNumbers(order.getTables() == null ? null : order.getTables()
+                        .stream().map(TableEntity::getNumber)
+                        .sorted()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(",")))
+                .itemCount(order.getItemCount())
+                .total(order.getTotal())
+                .paymentStatus(order.getPaymentStatus())
+                .orderDate(order.getCreatedDate() != null
+                        ? order.getCreatedDate()
+                        : new Timestamp(System.currentTimeMillis()))
+                .note(order.getNote())
+                .build());
+    }
+
+    @Override
+    public ApiResponse<OrderHistoryResponse> getHistory(Integer branchId, Integer customerId, Integer before, int size) {
+        int cursor = before != null ? before : Integer.MAX_VALUE;
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<OrderSummaryEntity> summaries = customerId != null
+                ? orderSummaryRepository.findByCustomerIdAndOrderIdLessThanOrderByOrderIdDesc(customerId, cursor, limit)
+                : branchId != null
+                ? orderSummaryRepository.findByBranchIdAndOrderIdLessThanOrderByOrderIdDesc(branchId, cursor, limit)
+                : orderSummaryRepository.findByOrderIdLessThanOrderByOrderIdDesc(cursor, limit);
+        return ApiResponse.<OrderHistoryResponse>builder()
+                .data(OrderHistoryResponse.builder()
+                        .orders(orderSummaryMapper.toResponses(summaries))
+                        .nextCursor(summaries.size() < limit.max() ? null : summaries.getLast().getOrderId())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Projects orders written before the summary table existed, or by code that bypassed
+     * the projector, in batches of {@value #BACKFILL_BATCH}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        int projected = 0;
+        while (true) {
+            Integer count = template.execute(status -> {
+                List<Integer> ids = orderSummaryRepository.findOrdersWithoutSummary(Limit.of(BACKFILL_BATCH));
+                orderRepository.findAllById(ids)
+                        .stream().sorted(Comparator.comparing(OrderEntity::getId))
+                        .forEach(this::project);
+                return ids.size();
+            });
+            if (count == null || count == 0) break;
+            projected += count;
+        }
+        if (projected > 0) log.info("Projected {} orders into order_summary", projected);
+    }
+}
@@ -2,9 +2,12 @@ package group5.swp.HarasyProject.service.impl;
 
 import group5.swp.HarasyProject.dto.request.order.OrderItemRequest;
 import group5.swp.HarasyProject.dto.response.order.OrderItemResponse;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
 import group5.swp.HarasyProject.entity.order.OrderItemEntity;
 import group5.swp.HarasyProject.entity.order.OrderItemId;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
 import group5.swp.HarasyProject.enums.OrderItemStatus;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
 import group5.swp.HarasyProject.exception.AppException;
 import group5.swp.HarasyProject.exception.ErrorCode;
 import group5.swp.HarasyProject.mapper.OrderItemMapper;
@@ -14,6 +17,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,6 +30,7 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     OrderItemRepository orderItemRepository;
     OrderItemMapper orderItemMapper;
+    ApplicationEventPublisher eventPublisher;
 
     @Override
     public void saveAll(List<OrderItemEntity> orderItemEntity) {
@@ -35,6 +40,7 @@ public class OrderItemServiceImpl implements OrderItemService {
     @Override
     public void save(OrderItemEntity orderItemEntity) {
         orderItemRepository.save(orderItemEntity);
+        publishDelta(orderItemEntity, OrderItemDeltaType.UPDATED);
     }
 
     @Override
@@ -68,6 +74,40 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .orElseThrow(()->new AppException(ErrorCode.ORDER_ITEM_NOT_FOUND));
         if(!orderItemEntity.getStatus().equals(OrderItemStatus.PENDING))
             throw new AppException(ErrorCode.CANNOT_DELETE_ORDER_ITEM);
-        orderItemRepository.deleteById(id);
+        orderItemEntity.getOrder().removeItem(orderItemEntity);
+        orderItemRepository.delete(orderItemEntity);
+        eventPublisher.publishEvent(new OrderItemDeltaEvent(orderItemEntity.getOrder().getBranch().getId(),
+                orderId, OrderItemDeltaType.DELETED, foodId, null));
+    }
+
+    @Override
+    public void deleteItems(List<OrderItemEntity> items) {
+        if (items.isEmpty()) return;
+        orderItemRepository.deleteAll(items);
+        items.forEach(item -> eventPublisher.publishEvent(new OrderItemDeltaEvent(
+                item.getOrder().getBranch().getId(), item.getOrder().getId(),
+                OrderItemDeltaType.DELETED, item.getFood().getId(), null)));
+    }
+
+    @Override
+    public void publishDelta(OrderItemEntity item, OrderItemDeltaType type) {
+        eventPublisher.publishEvent(new OrderItemDeltaEvent(item.getOrder().getBranch().getId(),
+                item.getOrder().getId(), type, item.getFood().getId(), orderItemMapper.toResponse(item)));
+    }
+
+    @Override
+    public void publishDelta(int branchId, int orderId, OrderItemResponse item, OrderItemDeltaType type) {
+        eventPublisher.publishEvent(new OrderItemDeltaEvent(branchId, orderId, type, item.getFoodId(), item));
+    }
+
+    @Override
+    public OrderItemResponse toResponse(OrderItemEntity item) {
+        return orderItemMapper.toResponse(item);
+    }
+
+    @Override
+    public void publishOrderClosed(OrderEntity order) {
+        eventPublisher.publishEvent(new OrderItemDeltaEvent(order.getBranch().getId(), order.getId(),
+                OrderItemDeltaType.ORDER_CLOSED, null, null));
     }
 }
@@ -1,23 +1,39 @@
 package group5.swp.HarasyProject.service.impl;
 
+import group5.swp.HarasyProject.dto.response.dashboard.BranchRevenueResponse;
 import group5.swp.HarasyProject.dto.response.order.OrderResponse;
 import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.event.OrderRepairedEvent;
 import group5.swp.HarasyProject.exception.AppException;
 import group5.swp.HarasyProject.exception.ErrorCode;
 import group5.swp.HarasyProject.mapper.OrderMapper;
+import group5.swp.HarasyProject.mapper.RevenueMapper;
+import group5.swp.HarasyProject.model.BranchMonthRevenue;
+import group5.swp.HarasyProject.model.RevenuePoint;
 import group5.swp.HarasyProject.repository.OrderRepository;
+import group5.swp.HarasyProject.repository.RevenueRollupRepository;
+import group5.swp.HarasyProject.service.OrderHistoryService;
 import group5.swp.HarasyProject.service.OrderService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -25,7 +41,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
     OrderRepository orderRepository;
+    RevenueRollupRepository revenueRollupRepository;
     OrderMapper orderMapper;
+    RevenueMapper revenueMapper;
+    OrderHistoryService orderHistoryService;
+    ApplicationEventPublisher eventPublisher;
+
+    @NonFinal
+    @Value("${order.totals.reconcile-days:2}")
+    int reconcileDays;
 
 
     @Override
@@ -49,11 +73,54 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(()->new AppException(ErrorCode.ORDER_NOT_FOUND));
     }
 
+    /**
+     * Locks the order row until the transaction ends. Call it before the order is loaded
+     * otherwise, so the caller works on the state left by the previous holder.
+     */
+    @Override
+    public OrderEntity lockOrder(int id) {
+        return orderRepository.lockById(id)
+                .orElseThrow(()->new AppException(ErrorCode.ORDER_NOT_FOUND));
+    }
+
     @Override
     public List<OrderEntity> getBranchOrdersInTime(int branchId) {
         return orderRepository.findBranchInTimeOrder(branchId);
     }
 
+    @Override
+    public List<OrderEntity> getOrdersInTime() {
+        return orderRepository.findInTimeOrders();
+    }
+
+    /**
+     * Totals are maintained incrementally as items change; this checks the orders touched
+     * in the last few days against their items and repairs any that drifted. Each order is
+     * locked first, in ascending id order like the other multi-order writers, so a repair
+     * never overwrites a concurrent item change, and the open-order book follows the repair.
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${order.totals.reconcile-cron:0 30 3 * * *}")
+    public int reconcileTotals() {
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusDays(reconcileDays));
+        List<Integer> drifted = orderRepository.findOrdersWithDriftedTotals(since)
+                .stream().sorted()
+                .toList();
+        int repaired = 0;
+        for (Integer orderId : drifted) {
+            lockOrder(orderId);
+            OrderEntity order = getOrderById(orderId);
+            if (order.recalculateTotals()) {
+                orderHistoryService.project(order);
+                eventPublisher.publishEvent(new OrderRepairedEvent(toResponse(order)));
+                repaired++;
+            }
+        }
+        if (repaired > 0) log.warn("Repaired stored totals of {} orders", repaired);
+        return repaired;
+    }
+
     @Override
     public OrderEntity save(OrderEntity order) {
         return orderRepository.save(order);
@@ -66,57 +133,63 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public Long getRevenueByDay(LocalDate specificDate) {
-        return orderRepository.calculateRevenueByDay(specificDate);
+        return revenueRollupRepository.sumDay(specificDate);
     }
 
     @Override
-    public List<Object[]> getDailyRevenueInMonth(int month, int year) {
-        return orderRepository.calculateDailyRevenueInMonth(month, year);
+    public List<RevenuePoint> getDailyRevenueInMonth(int month, int year) {
+        LocalDate from = firstDayOf(year, month);
+        return revenueRollupRepository.sumDaysBetween(from, from.plusMonths(1));
     }
 
     @Override
     public Long getRevenueByMonth(int month, int year) {
-        return orderRepository.calculateRevenueByMonth(month, year);
+        return revenueRollupRepository.sumMonth(firstDayOf(year, month));
     }
 
     @Override
-    public List<Object[]> getMonthlyRevenueInYear(int year) {
-        return orderRepository.calculateMonthlyRevenueInYear(year);
+    public List<RevenuePoint> getMonthlyRevenueInYear(int year) {
+        LocalDate from = firstDayOf(year, 1);
+        return revenueRollupRepository.sumMonthsBetween(from, from.plusYears(1));
     }
 
     @Override
     public Long getRevenueByYear(int year) {
-        return orderRepository.calculateRevenueByYear(year);
+        return revenueRollupRepository.sumYear(firstDayOf(year, 1));
     }
 
     @Override
-    public List<Object[]> getTotalRevenueForAllYears() {
-        return orderRepository.calculateTotalRevenueForAllYears();
+    public List<RevenuePoint> getTotalRevenueForAllYears() {
+        return revenueRollupRepository.sumYears();
     }
 
     @Override
     public Long getRevenueAll() {
-        return orderRepository.calculateRevenueAll();
+        return revenueRollupRepository.sumAll();
     }
 
     @Override
     public Integer getTotalOrders() {
-        return orderRepository.getTotalOrders();
+        return revenueRollupRepository.countOrders();
     }
 
     @Override
-    public List<Object[]> getBranchesTotalRevenue() {
-        return orderRepository.getBranchesTotalRevenue();
+    public List<BranchRevenueResponse> getBranchesTotalRevenue() {
+        return revenueRollupRepository.sumByBranch();
     }
 
     @Override
-    public List<Object[]> getBranchesTotalRevenueInMonth() {
-        return orderRepository.getBranchesTotalRevenueInMonth();
+    public Map<Integer, List<BranchRevenueResponse>> getBranchesTotalRevenueInMonth() {
+        Map<Integer, List<BranchRevenueResponse>> monthly = new TreeMap<>();
+        for (BranchMonthRevenue revenue : revenueRollupRepository.sumByMonthAndBranch()) {
+            monthly.computeIfAbsent(revenue.month(), month -> new ArrayList<>())
+                    .add(revenueMapper.toBranchRevenue(revenue));
+        }
+        return monthly;
     }
 
-    @Override
-    public List<Object[]> getBestSellers() {
-        Pageable pageable = PageRequest.of(0, 5);
-        return orderRepository.getBestSellers(pageable);
+    private static LocalDate firstDayOf(int year, int month) {
+        if (month < 1 || month > 12 || year < 1 || year > 9999) throw new AppException(ErrorCode.INVALID_DATE_RANGE);
+        return LocalDate.of(year, month, 1);
     }
 }
@@ -0,0 +1,122 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.request.order.PaymentRequest;
+import group5.swp.HarasyProject.dto.response.order.OrderPaymentsResponse;
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.entity.order.PaymentEntity;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.mapper.PaymentMapper;
+import group5.swp.HarasyProject.repository.CustomerAccountRepository;
+import group5.swp.HarasyProject.repository.PaymentRepository;
+import group5.swp.HarasyProject.service.PaymentService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Records payments as ledger rows and moves the loyalty points of their payers. Callers
+ * hold the order row lock, which serializes settlements of one order; points are changed
+ * with one relative {@code UPDATE} per payer, so settlements of different orders of the
+ * same customer never overwrite each other.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements PaymentService {
+    static final int MAX_PAYMENTS = 50;
+
+    PaymentRepository paymentRepository;
+    CustomerAccountRepository customerAccountRepository;
+    PaymentMapper paymentMapper;
+
+    @Override
+    public void pay(OrderEntity order, List<PaymentRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_PAYMENTS)
+            throw new AppException(ErrorCode.INVALID_PAYMENT);
+        Set<Integer> tableIds = order.getTables() == null ? Set.of() : order.getTables()
+                .stream().map(TableEntity::getId)
+                .collect(Collectors.toSet());
+        long amount = 0, points = 0;
+        List<PaymentEntity> payments = new ArrayList<>();
+        for (PaymentRequest request : requests) {
+            long paymentAmount = request.getAmount() != null ? request.getAmount() : 0;
+            long paymentPoints = request.getPoints() != null ? request.getPoints() : 0;
+            if (paymentAmount < 0 || paymentPoints < 0 || paymentAmount + paymentPoints == 0)
+                throw new AppException(ErrorCode.INVALID_PAYMENT);
+            if (paymentPoints > 0 && request.getCustomerId() == null)
+                throw new AppException(ErrorCode.INVALID_PAYMENT);
+            if (request.getTableId() != null && !tableIds.contains(request.getTableId()))
+                throw new AppException(ErrorCode.INVALID_PAYMENT);
+            amount += paymentAmount;
+            points += paymentPoints;
+            payments.add(toPayment(order, request.getCustomerId(), request.getTableId(), paymentAmount, paymentPoints));
+        }
+        if (amount > order.getBalance() || points > order.getPointsBalance())
+            throw new AppException(ErrorCode.PAYMENT_EXCEEDS_BALANCE);
+        record(order, payments);
+    }
+
+    /**
+     * Settles whatever is left of the order as one payment by its customer, which is how
+     * an order paid in one go was always charged.
+     */
+    @Override
+    public void payBalance(OrderEntity order) {
+        if (order.isSettled()) return;
+        Integer customerId = order.getCustomer() != null ? order.getCustomer().getId() : null;
+        record(order, List.of(toPayment(order, customerId, null, order.getBalance(), order.getPointsBalance())));
+    }
+
+    @Override
+    public OrderPaymentsResponse toResponse(OrderEntity order) {
+        return OrderPaymentsResponse.builder()
+                .orderId(order.getId())
+                .paymentStatus(order.getPaymentStatus())
+                .total(order.getTotal())
+                .totalPoints(order.getTotalPoints())
+                .paidAmount(order.getPaidAmount())
+                .paidPoints(order.getPaidPoints())
+                .payments(paymentMapper.toResponses(paymentRepository.findByOrderIdOrderByIdAsc(order.getId())))
+                .build();
+    }
+
+    private void record(OrderEntity order, List<PaymentEntity> payments) {
+        paymentRepository.saveAll(payments);
+        payments.forEach(order::recordPayment);
+        // Earned points follow the money paid, redeemed points are taken off. Payers are
+        // updated in id order so concurrent settlements lock customer rows in one order.
+        Map<Integer, Long> deltas = new TreeMap<>();
+        payments.stream()
+                .filter(payment -> payment.getCustomerId() != null)
+                .forEach(payment -> deltas.merge(payment.getCustomerId(),
+                        payment.getAmount() - payment.getPoints(), Long::sum));
+        deltas.forEach((customerId, delta) -> {
+            if (customerAccountRepository.addVipPoint(customerId, delta) == 0)
+                throw new AppException(ErrorCode.ACCOUNT_NOT_FOUND);
+        });
+    }
+
+    private static PaymentEntity toPayment(OrderEntity order, Integer customerId, Integer tableId,
+                                           long amount, long points) {
+        return PaymentEntity.builder()
+                .orderId(order.getId())
+                .branchId(order.getBranch().getId())
+                .customerId(customerId)
+                .tableId(tableId)
+                .amount(amount)
+                .points(points)
+                .build();
+    }
+}
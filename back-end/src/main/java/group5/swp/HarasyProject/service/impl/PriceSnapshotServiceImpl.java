@@ -0,0 +1,93 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.model.PriceSnapshot;
+import group5.swp.HarasyProject.repository.FoodRepository;
+import group5.swp.HarasyProject.service.PriceSnapshotService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prices order items from an in-memory {@link PriceSnapshot} instead of loading foods.
+ * Food edits rebuild the snapshot after commit, and a periodic reload picks up edits
+ * made through other instances. The last {@value #RETAINED_VERSIONS} versions are kept,
+ * so items added to an open order are priced like the rest of the order.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class PriceSnapshotServiceImpl implements PriceSnapshotService {
+    static final int RETAINED_VERSIONS = 16;
+
+    FoodRepository foodRepository;
+
+    @NonFinal
+    volatile PriceSnapshot current = PriceSnapshot.EMPTY;
+
+    Map<Long, PriceSnapshot> versions = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, PriceSnapshot> eldest) {
+            return size() > RETAINED_VERSIONS;
+        }
+    });
+
+    /**
+     * Returns the snapshot the order was priced with while it is retained and knows every
+     * food, the current one otherwise, and records the chosen version on the order. An
+     * unknown food forces one reload in case it was created through another instance.
+     */
+    @Override
+    public PriceSnapshot forOrder(OrderEntity order, Collection<Integer> foodIds) {
+        PriceSnapshot snapshot = order.getPriceVersion() != null ? versions.get(order.getPriceVersion()) : null;
+        if (snapshot == null || !snapshot.containsAll(foodIds)) snapshot = current;
+        if (!snapshot.containsAll(foodIds)) {
+            reload();
+            snapshot = current;
+            if (!snapshot.containsAll(foodIds)) throw new AppException(ErrorCode.FOOD_NOT_FOUND);
+        }
+        order.setPriceVersion(snapshot.version());
+        return snapshot;
+    }
+
+    @Override
+    public void refresh() {
+        TransactionUtil.afterCommit(this::reload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${order.price-snapshot.refresh-ms:60000}",
+            fixedDelayString = "${order.price-snapshot.refresh-ms:60000}")
+    public synchronized void reload() {
+        Map<Integer, PriceSnapshot.FoodPrice> foods = new HashMap<>();
+        long version = 0;
+        for (Object[] row : foodRepository.findPrices()) {
+            int foodId = ((Number) row[0]).intValue();
+            foods.put(foodId, new PriceSnapshot.FoodPrice(foodId, (String) row[1],
+                    ((Number) row[2]).longValue(), ((Number) row[3]).intValue()));
+            if (row[4] != null) version = Math.max(version, ((Timestamp) row[4]).getTime());
+        }
+        if (version == current.version() && foods.equals(current.foods())) return;
+        PriceSnapshot snapshot = new PriceSnapshot(version, Collections.unmodifiableMap(foods));
+        versions.put(version, snapshot);
+        current = snapshot;
+        log.info("Loaded price snapshot {} with {} foods", version, foods.size());
+    }
+}
@@ -5,8 +5,12 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -15,6 +19,30 @@ import java.util.concurrent.TimeUnit;
 public class RedisServiceImpl implements RedisService {
     private RedisTemplate<String, String> redisTemplate;
 
+    // All-or-nothing SET NX over every key: returns the 1-based positions already taken,
+    // or an empty list after claiming them all with the token and TTL.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_HOLD_SLOTS = new DefaultRedisScript<>("""
+            local taken = {}
+            for i, key in ipairs(KEYS) do
+                if redis.call('exists', key) == 1 then taken[#taken + 1] = i end
+            end
+            if #taken == 0 then
+                for _, key in ipairs(KEYS) do redis.call('set', key, ARGV[1], 'PX', ARGV[2]) end
+            end
+            return taken
+            """, List.class);
+
+    // Deletes only the keys still owned by the token, so an expired claim taken over by
+    // another hold survives.
+    private static final RedisScript<Long> RELEASE_HOLD_SLOTS = new DefaultRedisScript<>("""
+            local released = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('get', key) == ARGV[1] then released = released + redis.call('del', key) end
+            end
+            return released
+            """, Long.class);
+
 
     public void addTokenToBlacklist(String jit, long expirationTime) {
         String key = "blacklist:"+jit;
@@ -75,4 +103,108 @@ public class RedisServiceImpl implements RedisService {
         String key = "forgotPasswordSession:"+email;
         redisTemplate.delete(key);
     }
+
+    @Override
+    public long nextWaitlistSequence() {
+        Long sequence = redisTemplate.opsForValue().increment("waitlist:seq");
+        return sequence != null ? sequence : 0;
+    }
+
+    @Override
+    public void addWaitlistEntry(String day, String time, String entryId, double score) {
+        redisTemplate.opsForZSet().add("waitlist:queue:" + day + ":" + time, entryId, score);
+        redisTemplate.opsForSet().add("waitlist:times:" + day, time);
+    }
+
+    @Override
+    public String findBestWaitlistEntry(String day, String time, double maxScore) {
+        Set<String> best = redisTemplate.opsForZSet()
+                .reverseRangeByScore("waitlist:queue:" + day + ":" + time, Double.NEGATIVE_INFINITY, maxScore, 0, 1);
+        return best == null || best.isEmpty() ? null : best.iterator().next();
+    }
+
+    @Override
+    public Double getWaitlistScore(String day, String time, String entryId) {
+        return redisTemplate.opsForZSet().score("waitlist:queue:" + day + ":" + time, entryId);
+    }
+
+    @Override
+    public boolean removeWaitlistEntry(String day, String time, String entryId) {
+        Long removed = redisTemplate.opsForZSet().remove("waitlist:queue:" + day + ":" + time, entryId);
+        return removed != null && removed > 0;
+    }
+
+    @Override
+    public Set<String> getWaitlistTimes(String day) {
+        Set<String> times = redisTemplate.opsForSet().members("waitlist:times:" + day);
+        return times != null ? times : Set.of();
+    }
+
+    @Override
+    public void removeWaitlistTimeIfEmpty(String day, String time) {
+        Long size = redisTemplate.opsForZSet().zCard("waitlist:queue:" + day + ":" + time);
+        if (size == null || size == 0) redisTemplate.opsForSet().remove("waitlist:times:" + day, time);
+    }
+
+    @Override
+    public void addReservationHold(String day, String token, String hold, long expiresAt) {
+        long ttl = Math.max(1, expiresAt - System.currentTimeMillis());
+        redisTemplate.opsForValue().set("hold:" + token, hold, ttl, TimeUnit.MILLISECONDS);
+        redisTemplate.opsForZSet().add("hold:day:" + day, hold, expiresAt);
+        redisTemplate.expire("hold:day:" + day, ttl, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String takeReservationHold(String token) {
+        return redisTemplate.opsForValue().getAndDelete("hold:" + token);
+    }
+
+    @Override
+    public Set<String> getReservationHolds(String day, long now) {
+        redisTemplate.opsForZSet().removeRangeByScore("hold:day:" + day, Double.NEGATIVE_INFINITY, now);
+        Set<String> holds = redisTemplate.opsForZSet().rangeByScore("hold:day:" + day, now, Double.POSITIVE_INFINITY);
+        return holds != null ? holds : Set.of();
+    }
+
+    @Override
+    public void removeReservationHold(String day, String hold) {
+        redisTemplate.opsForZSet().remove("hold:day:" + day, hold);
+    }
+
+    @Override
+    public List<Integer> claimHoldSlots(List<String> slots, String token, long ttlMillis) {
+        List<?> taken = redisTemplate.execute(CLAIM_HOLD_SLOTS, holdSlotKeys(slots), token, String.valueOf(ttlMillis));
+        if (taken == null) return List.of();
+        return taken.stream().map(position -> ((Number) position).intValue() - 1).toList();
+    }
+
+    @Override
+    public void releaseHoldSlots(List<String> slots, String token) {
+        redisTemplate.execute(RELEASE_HOLD_SLOTS, holdSlotKeys(slots), token);
+    }
+
+    private static List<String> holdSlotKeys(List<String> slots) {
+        return slots.stream().map(slot -> "hold:slot:" + slot).toList();
+    }
+
+    @Override
+    public boolean claimIdempotencyKey(String key, String record, long ttlMillis) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent("idempotency:" + key, record, ttlMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public String getIdempotencyRecord(String key) {
+        return redisTemplate.opsForValue().get("idempotency:" + key);
+    }
+
+    @Override
+    public void storeIdempotencyRecord(String key, String record, long ttlMillis) {
+        redisTemplate.opsForValue().set("idempotency:" + key, record, ttlMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void deleteIdempotencyKey(String key) {
+        redisTemplate.delete("idempotency:" + key);
+    }
 }
@@ -0,0 +1,112 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.model.ReservationHold;
+import group5.swp.HarasyProject.service.RedisService;
+import group5.swp.HarasyProject.service.ReservationHoldService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Short-lived holds on tables between checking availability and confirming a
+ * reservation. A hold is one Redis key expiring with its TTL plus a member of a per-day
+ * sorted set scored by expiry, so availability reads the live holds of a day with one
+ * range query and nothing is ever written to the database. Each (table, slot) of a hold
+ * is also claimed under its own key with the same TTL, all at once by a Lua script, so two
+ * customers racing for the same tables cannot both get a hold.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationHoldServiceImpl implements ReservationHoldService {
+    RedisService redisService;
+
+    @NonFinal
+    @Value("${reservation.hold.ttl-seconds:300}")
+    long ttlSeconds;
+
+    @Override
+    public Optional<ReservationHold> createHold(int branchId, LocalDate date, LocalTime time, int minutes,
+                                                List<TableEntity> tables, Set<Integer> contended) {
+        ReservationHold hold = new ReservationHold(UUID.randomUUID().toString(), branchId, date, time, minutes,
+                tables.stream().mapToInt(TableEntity::getCapacity).sum(),
+                tables.stream().map(TableEntity::getId).toList(),
+                System.currentTimeMillis() + ttlSeconds * 1000);
+        List<String> slots = hold.slotKeys();
+        List<Integer> taken = redisService.claimHoldSlots(slots, hold.token(), ttlSeconds * 1000);
+        if (!taken.isEmpty()) {
+            taken.forEach(index -> contended.add(Integer.valueOf(slots.get(index).split(":")[0])));
+            return Optional.empty();
+        }
+        redisService.addReservationHold(dayKey(branchId, date), hold.token(), hold.encode(), hold.expiresAt());
+        return Optional.of(hold);
+    }
+
+    @Override
+    public Optional<ReservationHold> takeHold(String token) {
+        String value = redisService.takeReservationHold(token);
+        if (value == null) return Optional.empty();
+        ReservationHold hold = ReservationHold.decode(value);
+        // Give the hold back if the confirmation does not go through and it is still valid.
+        TransactionUtil.afterRollback(() -> {
+            if (hold.expiresAt() > System.currentTimeMillis())
+                redisService.addReservationHold(dayKey(hold.branchId(), hold.date()), token, value, hold.expiresAt());
+        });
+        return Optional.of(hold);
+    }
+
+    @Override
+    public void confirmHold(ReservationHold hold) {
+        // The day set keeps counting the hold until the reservation is visible to availability.
+        TransactionUtil.afterCommit(() -> {
+            redisService.removeReservationHold(dayKey(hold.branchId(), hold.date()), hold.encode());
+            redisService.releaseHoldSlots(hold.slotKeys(), hold.token());
+        });
+    }
+
+    @Override
+    public Optional<ReservationHold> releaseHold(String token) {
+        String value = redisService.takeReservationHold(token);
+        if (value == null) return Optional.empty();
+        ReservationHold hold = ReservationHold.decode(value);
+        redisService.removeReservationHold(dayKey(hold.branchId(), hold.date()), value);
+        redisService.releaseHoldSlots(hold.slotKeys(), token);
+        return Optional.of(hold);
+    }
+
+    @Override
+    public List<ReservationHold> getHolds(int branchId, LocalDate date) {
+        try {
+            return redisService.getReservationHolds(dayKey(branchId, date), System.currentTimeMillis())
+                    .stream().map(ReservationHold::decode).toList();
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, ignoring reservation holds of branch {} on {}", branchId, date);
+            return List.of();
+        }
+    }
+
+    @Override
+    public Set<Integer> getHeldTableIds(int branchId, LocalDate date, LocalTime time, int minutes) {
+        Set<Integer> held = new HashSet<>();
+        for (ReservationHold hold : getHolds(branchId, date)) {
+            if (hold.overlaps(time, minutes)) held.addAll(hold.tableIds());
+        }
+        return held;
+    }
+
+    private static String dayKey(int branchId, LocalDate date) {
+        return branchId + ":" + date;
+    }
+}
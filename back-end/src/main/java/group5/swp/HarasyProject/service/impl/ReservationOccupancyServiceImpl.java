@@ -0,0 +1,273 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.reservation.SlotCapacityResponse;
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationTypeEntity;
+import group5.swp.HarasyProject.model.DayOccupancy;
+import group5.swp.HarasyProject.model.ReservationHold;
+import group5.swp.HarasyProject.model.TableCapacitySnapshot;
+import group5.swp.HarasyProject.repository.ReservationRepository;
+import group5.swp.HarasyProject.repository.TableRepository;
+import group5.swp.HarasyProject.service.ReservationOccupancyService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationOccupancyServiceImpl implements ReservationOccupancyService {
+    static final int MAX_CALENDARS = 256;
+
+    TableRepository tableRepository;
+    ReservationRepository reservationRepository;
+
+    @NonFinal
+    @Value("${reservation.occupancy-index.enabled:true}")
+    boolean occupancyIndexEnabled;
+
+    @NonFinal
+    @Value("${reservation.occupancy-index.verify:false}")
+    boolean verifyOccupancyIndex;
+
+    Map<Integer, TableCapacitySnapshot> branchTables = new ConcurrentHashMap<>();
+    Map<DayKey, DayOccupancy> days = new ConcurrentHashMap<>();
+    Map<RangeKey, Map<LocalDate, DayOccupancy>> calendars = new ConcurrentHashMap<>();
+    Map<Integer, AtomicLong> calendarGenerations = new ConcurrentHashMap<>();
+
+    @Override
+    public List<SlotCapacityResponse> getSlotCapacities(int branchId, LocalDate date, List<LocalTime> timeSlots,
+                                                        int minutes, List<ReservationHold> holds) {
+        TableCapacitySnapshot tables = getTables(branchId);
+        List<SlotCapacityResponse> slots = toSlotCapacities(getDay(branchId, date), tables, timeSlots, minutes, holds);
+        if (occupancyIndexEnabled && verifyOccupancyIndex) {
+            DayKey key = new DayKey(branchId, date);
+            List<SlotCapacityResponse> dbSlots = toSlotCapacities(loadDay(key), tables, timeSlots, minutes, holds);
+            if (!dbSlots.equals(slots))
+                log.warn("Occupancy index of branch {} on {} differs from database: index {} database {}",
+                        branchId, date, slots, dbSlots);
+        }
+        return slots;
+    }
+
+    @Override
+    public Map<LocalDate, List<Integer>> getCapacityCalendar(int branchId, LocalDate from, LocalDate to,
+                                                             Map<LocalDate, List<LocalTime>> timeSlots, int minutes) {
+        TableCapacitySnapshot tables = getTables(branchId);
+        Map<LocalDate, DayOccupancy> range = getRange(new RangeKey(branchId, from, to));
+        Map<LocalDate, List<Integer>> capacities = new LinkedHashMap<>();
+        timeSlots.forEach((date, slots) -> {
+            DayOccupancy day = range.get(date);
+            capacities.put(date, slots.stream()
+                    .map(slot -> day == null ? 0 : day.freeCapacity(tables, slot, minutes))
+                    .toList());
+        });
+        return capacities;
+    }
+
+    @Override
+    public Map<LocalDate, DayOccupancy> loadOccupancy(int branchId, LocalDate from, LocalDate to) {
+        return loadRange(new RangeKey(branchId, from, to));
+    }
+
+    @Override
+    public List<Integer> getFreeTableIds(int branchId, LocalDate date, LocalTime time, int minutes) {
+        TableCapacitySnapshot tables = getTables(branchId);
+        DayOccupancy day = getDay(branchId, date);
+        List<Integer> free = new ArrayList<>();
+        for (int i = 0; i < tables.size(); i++) {
+            if (day.isFree(tables.tableId(i), time, minutes)) free.add(tables.tableId(i));
+        }
+        return free;
+    }
+
+    @Override
+    public void onReservationSaved(ReservationEntity reservation) {
+        if (reservation.getId() == null || reservation.getBranch() == null) return;
+        int reservationId = reservation.getId();
+        DayKey key = new DayKey(reservation.getBranch().getId(), reservation.getDate());
+        boolean blocking = reservation.getStatus() != null && reservation.getStatus().isHoldingTables();
+        DayOccupancy.Booking booking = DayOccupancy.Booking.of(reservation.getTime(),
+                reservation.getType().getDiningMinutes(),
+                reservation.getTables() == null
+                        ? List.of()
+                        : reservation.getTables().stream().map(TableEntity::getId).toList());
+        DayKey nextKey = new DayKey(key.branchId(), key.date().plusDays(1));
+        TransactionUtil.afterCommit(() -> {
+            days.computeIfPresent(key, (k, day) -> {
+                if (blocking) day.put(reservationId, booking);
+                else day.remove(reservationId);
+                return day;
+            });
+            days.computeIfPresent(nextKey, (k, day) -> {
+                if (blocking && booking.endsAfterMidnight()) day.put(reservationId, booking.onNextDay());
+                else day.remove(reservationId);
+                return day;
+            });
+            evictCalendars(key);
+            evictCalendars(nextKey);
+        });
+    }
+
+    @Override
+    public void evictTables(int branchId) {
+        TransactionUtil.afterCommit(() -> branchTables.remove(branchId));
+    }
+
+    @Override
+    public void evictDay(int branchId, LocalDate date) {
+        DayKey key = new DayKey(branchId, date);
+        DayKey nextKey = new DayKey(branchId, date.plusDays(1));
+        TransactionUtil.afterCommit(() -> {
+            days.remove(key);
+            days.remove(nextKey);
+            evictCalendars(key);
+            evictCalendars(nextKey);
+        });
+    }
+
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+        calendars.keySet().removeIf(key -> key.to().isBefore(today));
+    }
+
+    private static List<SlotCapacityResponse> toSlotCapacities(DayOccupancy day, TableCapacitySnapshot tables,
+                                                               List<LocalTime> timeSlots, int minutes,
+                                                               List<ReservationHold> holds) {
+        return timeSlots.stream()
+                .map(slot -> SlotCapacityResponse.builder()
+                        .time(slot.toString())
+                        .freeCapacity(day.freeCapacity(tables, slot, minutes, heldTableIds(holds, slot, minutes)))
+                        .build())
+                .toList();
+    }
+
+    private static Set<Integer> heldTableIds(List<ReservationHold> holds, LocalTime slot, int minutes) {
+        if (holds.isEmpty()) return Set.of();
+        Set<Integer> held = new HashSet<>();
+        for (ReservationHold hold : holds) {
+            if (hold.overlaps(slot, minutes)) held.addAll(hold.tableIds());
+        }
+        return held;
+    }
+
+    private TableCapacitySnapshot getTables(int branchId) {
+        if (!occupancyIndexEnabled) return TableCapacitySnapshot.of(tableRepository.getReservableTables(branchId));
+        return branchTables.computeIfAbsent(branchId,
+                id -> TableCapacitySnapshot.of(tableRepository.getReservableTables(id)));
+    }
+
+    private DayOccupancy getDay(int branchId, LocalDate date) {
+        if (!occupancyIndexEnabled) return loadDay(new DayKey(branchId, date));
+        return days.computeIfAbsent(new DayKey(branchId, date), this::loadDay);
+    }
+
+    private DayOccupancy loadDay(DayKey key) {
+        DayOccupancy day = new DayOccupancy();
+        day.putAll(loadBookings(key.branchId(), key.date()));
+        loadBookings(key.branchId(), key.date().minusDays(1)).forEach((reservationId, booking) -> {
+            if (booking.endsAfterMidnight()) day.put(reservationId, booking.onNextDay());
+        });
+        log.debug("Loaded occupancy of branch {} on {}", key.branchId(), key.date());
+        return day;
+    }
+
+    private Map<LocalDate, DayOccupancy> getRange(RangeKey key) {
+        Map<LocalDate, DayOccupancy> cached = calendars.get(key);
+        if (cached != null) return cached;
+        AtomicLong generation = calendarGenerations.computeIfAbsent(key.branchId(), id -> new AtomicLong());
+        long before = generation.get();
+        Map<LocalDate, DayOccupancy> range = loadRange(key);
+        if (calendars.size() >= MAX_CALENDARS) calendars.clear();
+        calendars.putIfAbsent(key, range);
+        // A reservation committed while loading may have been missed, so do not keep the result.
+        if (generation.get() != before) calendars.remove(key, range);
+        return range;
+    }
+
+    private Map<LocalDate, DayOccupancy> loadRange(RangeKey key) {
+        Map<LocalDate, Map<Integer, LocalTime>> times = new HashMap<>();
+        Map<Integer, Integer> minutes = new HashMap<>();
+        Map<LocalDate, Map<Integer, List<Integer>>> tables = new HashMap<>();
+        for (Object[] row : reservationRepository.findBookedTablesBetween(key.branchId(), key.from().minusDays(1),
+                key.to())) {
+            Integer reservationId = (Integer) row[0];
+            LocalDate date = (LocalDate) row[1];
+            times.computeIfAbsent(date, d -> new HashMap<>()).put(reservationId, (LocalTime) row[2]);
+            minutes.put(reservationId, ((ReservationTypeEntity) row[3]).getDiningMinutes());
+            tables.computeIfAbsent(date, d -> new HashMap<>())
+                    .computeIfAbsent(reservationId, id -> new ArrayList<>()).add((Integer) row[4]);
+        }
+        Map<LocalDate, DayOccupancy> range = new HashMap<>();
+        for (LocalDate date = key.from(); !date.isAfter(key.to()); date = date.plusDays(1)) {
+            DayOccupancy day = new DayOccupancy();
+            if (tables.containsKey(date)) day.putAll(toBookings(times.get(date), minutes, tables.get(date)));
+            LocalDate previous = date.minusDays(1);
+            if (tables.containsKey(previous)) {
+                toBookings(times.get(previous), minutes, tables.get(previous)).forEach((reservationId, booking) -> {
+                    if (booking.endsAfterMidnight()) day.put(reservationId, booking.onNextDay());
+                });
+            }
+            range.put(date, day);
+        }
+        log.debug("Loaded occupancy of branch {} from {} to {}", key.branchId(), key.from(), key.to());
+        return Map.copyOf(range);
+    }
+
+    private Map<Integer, DayOccupancy.Booking> loadBookings(int branchId, LocalDate date) {
+        Map<Integer, LocalTime> times = new HashMap<>();
+        Map<Integer, Integer> minutes = new HashMap<>();
+        Map<Integer, List<Integer>> tables = new HashMap<>();
+        for (Object[] row : reservationRepository.findBookedTables(branchId, date)) {
+            Integer reservationId = (Integer) row[0];
+            times.put(reservationId, (LocalTime) row[1]);
+            minutes.put(reservationId, ((ReservationTypeEntity) row[2]).getDiningMinutes());
+            tables.computeIfAbsent(reservationId, id -> new ArrayList<>()).add((Integer) row[3]);
+        }
+        return toBookings(times, minutes, tables);
+    }
+
+    private static Map<Integer, DayOccupancy.Booking> toBookings(Map<Integer, LocalTime> times,
+                                                                 Map<Integer, Integer> minutes,
+                                                                 Map<Integer, List<Integer>> tables) {
+        Map<Integer, DayOccupancy.Booking> bookings = new HashMap<>();
+        tables.forEach((reservationId, tableIds) -> bookings.put(reservationId,
+                DayOccupancy.Booking.of(times.get(reservationId), minutes.get(reservationId), tableIds)));
+        return bookings;
+    }
+
+    private void evictCalendars(DayKey key) {
+        calendarGenerations.computeIfAbsent(key.branchId(), id -> new AtomicLong()).incrementAndGet();
+        calendars.keySet().removeIf(range -> range.branchId() == key.branchId()
+                && !key.date().isBefore(range.from())
+                && !key.date().isAfter(range.to()));
+    }
+
+    record DayKey(int branchId, LocalDate date) {
+    }
+
+    record RangeKey(int branchId, LocalDate from, LocalDate to) {
+    }
+}
@@ -1,24 +1,44 @@
 package group5.swp.HarasyProject.service.impl;
 
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
+import group5.swp.HarasyProject.dto.response.reservation.SlotCapacityResponse;
+import group5.swp.HarasyProject.entity.branch.TableEntity;
 import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationSlotClaimEntity;
+import group5.swp.HarasyProject.enums.ReservationStatus;
+import group5.swp.HarasyProject.event.ReservationReleasedEvent;
 import group5.swp.HarasyProject.exception.AppException;
 import group5.swp.HarasyProject.exception.ErrorCode;
 import group5.swp.HarasyProject.mapper.ReservationMapper;
+import group5.swp.HarasyProject.model.DayOccupancy;
+import group5.swp.HarasyProject.repository.ReservationJdbcRepository;
 import group5.swp.HarasyProject.repository.ReservationRepository;
+import group5.swp.HarasyProject.repository.ReservationSlotClaimRepository;
+import group5.swp.HarasyProject.service.OpenOrderBookService;
+import group5.swp.HarasyProject.service.OrderHistoryService;
+import group5.swp.HarasyProject.service.ReservationHoldService;
+import group5.swp.HarasyProject.service.ReservationOccupancyService;
 import group5.swp.HarasyProject.service.ReservationService;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.Query;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -27,52 +47,21 @@ import java.util.List;
 public class ReservationServiceImpl implements ReservationService {
 
     ReservationRepository reservationRepository;
+    ReservationSlotClaimRepository slotClaimRepository;
+    ReservationJdbcRepository reservationJdbcRepository;
+    ApplicationEventPublisher eventPublisher;
     ReservationMapper reservationMapper;
-    EntityManager entityManager;
+    ReservationOccupancyService reservationOccupancyService;
+    ReservationHoldService reservationHoldService;
+    OpenOrderBookService openOrderBookService;
+    OrderHistoryService orderHistoryService;
 
     @Override
-    public List<String> getAvailableTime(int branchId, String timeSlots, LocalDate date, int amountGuest) {
-        String sql = String.format("""
-                    select ts.slot_time
-                   from tables t
-                            left join reservation_table rt
-                                      on t.table_id = rt.table_id
-                            left join reservation r
-                                      on rt.reservation_id = r.reservation_id
-                            join (%s) AS ts (slot_time)
-                   where t.branch_id = :branchId
-                     and t.status = 'AVAILABLE'
-                     and (r.reservation_date is null
-                       or (
-                              r.reservation_date = :date
-                                  and (
-                                  r.status <> 'APPROVED'
-                                      or (
-                                      r.status = 'APPROVED'
-                                          and
-                                      r.reservation_time not between SUBTIME(slot_time, '1:30') AND ADDTIME(slot_time, '1:30')
-                                      )
-                                  )
-                              )
-                       or (r.reservation_date <> :date
-                           AND NOT EXISTS (SELECT 1
-                                           FROM reservation_table rt2
-                                                    JOIN reservation r2
-                                                         ON rt2.reservation_id = r2.reservation_id
-                                           WHERE r2.reservation_date = :date
-                                             AND rt2.table_id = t.table_id))
-                       )
-                   group by slot_time
-                   having sum(t.capacity) >= :amountGuest
-                   order by slot_time;
-                """, timeSlots);
-
-        Query query = entityManager.createNativeQuery(sql);
-        query.setParameter("amountGuest", amountGuest);
-        query.setParameter("branchId", branchId);
-        query.setParameter("date", date);
-        List list = query.getResultList();
-        return (List<String>) list.stream().map(l-> (String) l ).toList();
+    public List<SlotCapacityResponse> getSlotCapacities(int branchId, LocalDate date, List<LocalTime> timeSlots,
+                                                        int minutes) {
+        if (timeSlots.isEmpty()) return List.of();
+        return reservationOccupancyService.getSlotCapacities(branchId, date, timeSlots, minutes,
+                reservationHoldService.getHolds(branchId, date));
     }
 
     @Override
@@ -92,8 +81,143 @@ public class ReservationServiceImpl implements ReservationService {
     }
 
     @Override
+    @Transactional
     public ReservationEntity saveReservation(ReservationEntity reservation) {
-        return reservationRepository.save(reservation);
+        boolean isNew = reservation.getId() == null;
+        reservation = reservationRepository.save(reservation);
+        if (!isNew) slotClaimRepository.deleteByReservation(reservation.getId());
+        saveClaims(buildClaims(reservation));
+        reservationOccupancyService.onReservationSaved(reservation);
+        if (!isNew) publishIfReleased(reservation);
+        else onOrdersCreated(List.of(reservation));
+        return reservation;
+    }
+
+    @Override
+    @Transactional
+    public List<ReservationEntity> saveReservations(List<ReservationEntity> reservations) {
+        List<Integer> existingIds = reservations.stream()
+                .map(ReservationEntity::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        reservations = reservationRepository.saveAll(reservations);
+        if (!existingIds.isEmpty()) slotClaimRepository.deleteByReservationIn(existingIds);
+        saveClaims(reservations.stream().flatMap(reservation -> buildClaims(reservation).stream()).toList());
+        reservations.forEach(reservationOccupancyService::onReservationSaved);
+        reservations.stream()
+                .filter(reservation -> existingIds.contains(reservation.getId()))
+                .forEach(this::publishIfReleased);
+        onOrdersCreated(reservations.stream()
+                .filter(reservation -> !existingIds.contains(reservation.getId()))
+                .toList());
+        return reservations;
+    }
+
+    @Override
+    @Transactional
+    public List<ReservationEntity> insertReservations(List<ReservationEntity> reservations) {
+        reservationJdbcRepository.insertReservations(reservations);
+        try {
+            reservationJdbcRepository.insertClaims(reservations.stream()
+                    .flatMap(reservation -> buildClaims(reservation).stream())
+                    .toList());
+        } catch (DataIntegrityViolationException e) {
+            throw new AppException(ErrorCode.TABLE_ALREADY_RESERVED);
+        }
+        reservations.forEach(reservationOccupancyService::onReservationSaved);
+        onOrdersCreated(reservations);
+        return reservations;
+    }
+
+    /**
+     * New reservations come with a pending order that the open-order book and the order
+     * history have not seen.
+     */
+    private void onOrdersCreated(List<ReservationEntity> created) {
+        created.forEach(reservation -> orderHistoryService.recordCreated(reservation.getOrder()));
+        created.stream()
+                .map(reservation -> reservation.getBranch().getId())
+                .distinct()
+                .forEach(openOrderBookService::evictBranch);
+    }
+
+    @Override
+    public List<ReservationEntity> getReservationsByIds(List<Integer> ids) {
+        return reservationRepository.findAllById(ids);
+    }
+
+    @Override
+    public Set<Integer> findClaimConflicts(List<ReservationEntity> reservations) {
+        List<List<ReservationSlotClaimEntity>> wanted = reservations.stream()
+                .map(ReservationServiceImpl::buildClaims)
+                .toList();
+        Set<Integer> tableIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        wanted.forEach(claims -> claims.forEach(claim -> {
+            tableIds.add(claim.getTable().getId());
+            dates.add(claim.getDate());
+        }));
+        if (tableIds.isEmpty()) return Set.of();
+
+        Map<SlotKey, Integer> owners = new HashMap<>();
+        slotClaimRepository.findClaims(tableIds, dates).forEach(claim ->
+                owners.put(new SlotKey(claim.tableId(), claim.date(), claim.slot()), claim.reservationId()));
+        Set<SlotKey> taken = new HashSet<>();
+        Set<Integer> conflicts = new HashSet<>();
+        for (int i = 0; i < reservations.size(); i++) {
+            Integer reservationId = reservations.get(i).getId();
+            List<SlotKey> keys = wanted.get(i).stream().map(SlotKey::of).toList();
+            if (keys.stream().anyMatch(key -> taken.contains(key)
+                    || owners.containsKey(key) && !owners.get(key).equals(reservationId))) {
+                conflicts.add(i);
+            } else {
+                taken.addAll(keys);
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Claims every slot touched by {@code [time, time + dining minutes)}; overlapping
+     * bookings share at least one. Reservations start on a slot boundary (see
+     * {@link group5.swp.HarasyProject.model.BranchSchedule#isSlotAligned}), so bookings
+     * sharing a slot really overlap. A stay past midnight claims the first slots of the
+     * next day.
+     */
+    static List<ReservationSlotClaimEntity> buildClaims(ReservationEntity reservation) {
+        if (reservation.getStatus() == null || !reservation.getStatus().isHoldingTables()
+                || reservation.getTables() == null) return List.of();
+        int minute = reservation.getTime().getHour() * 60 + reservation.getTime().getMinute();
+        int firstSlot = minute / DayOccupancy.SLOT_MINUTES;
+        int lastSlot = (minute + reservation.getType().getDiningMinutes() - 1) / DayOccupancy.SLOT_MINUTES;
+        List<ReservationSlotClaimEntity> claims = new ArrayList<>();
+        for (TableEntity table : reservation.getTables()) {
+            for (int slot = firstSlot; slot <= lastSlot; slot++) {
+                claims.add(ReservationSlotClaimEntity.builder()
+                        .reservation(reservation)
+                        .table(table)
+                        .date(reservation.getDate().plusDays(slot / DayOccupancy.SLOTS_PER_DAY))
+                        .slot(slot % DayOccupancy.SLOTS_PER_DAY)
+                        .build());
+            }
+        }
+        return claims;
+    }
+
+    private void publishIfReleased(ReservationEntity reservation) {
+        if (reservation.getStatus().equals(ReservationStatus.CANCELED)
+                || reservation.getStatus().equals(ReservationStatus.REJECTED))
+            eventPublisher.publishEvent(new ReservationReleasedEvent(reservation.getBranch().getId(),
+                    reservation.getDate(), reservation.getTime(), reservation.getType().getDiningMinutes()));
+    }
+
+    private void saveClaims(List<ReservationSlotClaimEntity> claims) {
+        if (claims.isEmpty()) return;
+        try {
+            slotClaimRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException e) {
+            throw new AppException(ErrorCode.TABLE_ALREADY_RESERVED);
+        }
     }
 
 
@@ -102,5 +226,11 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationMapper.toResponse(reservation);
     }
 
+    record SlotKey(int tableId, LocalDate date, int slot) {
+        static SlotKey of(ReservationSlotClaimEntity claim) {
+            return new SlotKey(claim.getTable().getId(), claim.getDate(), claim.getSlot());
+        }
+    }
+
 
 }
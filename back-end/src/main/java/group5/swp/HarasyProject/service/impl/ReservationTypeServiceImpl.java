@@ -4,6 +4,7 @@ import group5.swp.HarasyProject.dto.response.ApiResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationResponse;
 import group5.swp.HarasyProject.dto.response.reservation.ReservationTypeResonse;
 import group5.swp.HarasyProject.entity.reservation.ReservationTypeEntity;
+import group5.swp.HarasyProject.enums.ReservationType;
 import group5.swp.HarasyProject.exception.AppException;
 import group5.swp.HarasyProject.exception.ErrorCode;
 import group5.swp.HarasyProject.mapper.ReservationMapper;
@@ -31,6 +32,25 @@ public class ReservationTypeServiceImpl implements ReservationTypeService {
                 .findById(id).orElseThrow(()-> new AppException(ErrorCode.RESERVATION_TYPE_NOT_FOUND));
     }
 
+    @Override
+    public List<ReservationTypeEntity> getReservationTypes() {
+        return reservationTypeRepository.findAll();
+    }
+
+    @Override
+    public int getDiningMinutes(Integer typeId) {
+        return typeId != null
+                ? getReservationTypeById(typeId).getDiningMinutes()
+                : ReservationType.GENERAL.getDefaultDiningMinutes();
+    }
+
+    @Override
+    public int getMaxDiningMinutes() {
+        return reservationTypeRepository.findAll().stream()
+                .mapToInt(ReservationTypeEntity::getDiningMinutes)
+                .max().orElse(ReservationType.GENERAL.getDefaultDiningMinutes());
+    }
+
     @Override
     public ApiResponse<List<ReservationTypeResonse>> getAllReservationType() {
         return ApiResponse.<List<ReservationTypeResonse>>builder()
@@ -1,5 +1,7 @@
 package group5.swp.HarasyProject.service.impl;
 
+import group5.swp.HarasyProject.dto.request.branch.BranchScheduleExceptionRequest;
+import group5.swp.HarasyProject.dto.response.branch.BranchScheduleExceptionResponse;
 import group5.swp.HarasyProject.dto.request.branch.BranchRequest;
 import group5.swp.HarasyProject.dto.request.branch.BranchWorkingHourRequest;
 import group5.swp.HarasyProject.dto.request.food.FoodRequest;
@@ -45,6 +47,8 @@ public class RestaurantManagementServiceImpl implements RestaurantManagementServ
     OrderService orderService;
     AccountService accountService;
     BranchWorkingHourService branchWorkingHourService;
+    BranchScheduleService branchScheduleService;
+    ReservationOccupancyService reservationOccupancyService;
 
     @Override
     public ApiResponse<Page<OrderResponse>> getOrdersInBranch(int branchId, Pageable pageable) {
@@ -146,6 +150,8 @@ public class RestaurantManagementServiceImpl implements RestaurantManagementServ
         updateBranchManager(branch, request.getBranchInfo().getManagerId());
         doUpdateIn(request, branch);
         branch = branchService.saveBranch(branch);
+        reservationOccupancyService.evictTables(branchId);
+        branchScheduleService.evictSchedule(branchId);
         return ApiResponse.<BranchResponse>builder()
                 .data(branchService.toBranchResponse(branch))
                 .build();
@@ -193,11 +199,28 @@ public class RestaurantManagementServiceImpl implements RestaurantManagementServ
     }
 
     @Override
+    @Transactional
     public ApiResponse<?> deleteWorkingHour(int hourId) {
-        branchWorkingHourService.deleteWorkingHour(hourId);
+        branchScheduleService.evictSchedule(branchWorkingHourService.deleteWorkingHour(hourId));
         return ApiResponse.builder().build();
     }
 
+    @Override
+    public ApiResponse<List<BranchScheduleExceptionResponse>> getScheduleExceptions(int branchId) {
+        return branchScheduleService.getUpcomingExceptions(branchId);
+    }
+
+    @Override
+    public ApiResponse<BranchScheduleExceptionResponse> addScheduleException(int branchId,
+                                                                             BranchScheduleExceptionRequest request) {
+        return branchScheduleService.addException(branchId, request);
+    }
+
+    @Override
+    public ApiResponse<?> deleteScheduleException(int exceptionId) {
+        return branchScheduleService.deleteException(exceptionId);
+    }
+
     private void doUpdateIn(BranchRequest request, BranchEntity branch) {
         updateInBranchEntity(request, branch);
         addInBranchEntity(request, branch);
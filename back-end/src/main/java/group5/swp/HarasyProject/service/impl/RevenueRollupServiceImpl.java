@@ -0,0 +1,95 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.enums.OrderItemDeltaType;
+import group5.swp.HarasyProject.enums.RevenueGrain;
+import group5.swp.HarasyProject.event.OrderItemDeltaEvent;
+import group5.swp.HarasyProject.repository.OrderRepository;
+import group5.swp.HarasyProject.repository.RevenueRollupRepository;
+import group5.swp.HarasyProject.service.RevenueRollupService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Keeps {@code revenue_rollup} in step with paid orders. Closing an order adds its total
+ * to its day, month and year rows inside the paying transaction, so the rollup commits
+ * or rolls back with the payment. A nightly rebuild recomputes the last few days from
+ * {@code orders}; a full rebuild runs when the table is empty.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class RevenueRollupServiceImpl implements RevenueRollupService {
+    RevenueRollupRepository revenueRollupRepository;
+    OrderRepository orderRepository;
+    PlatformTransactionManager transactionManager;
+
+    @NonFinal
+    @Value("${order.revenue.rebuild-days:2}")
+    int rebuildDays;
+
+    @EventListener
+    public void onOrderItemDelta(OrderItemDeltaEvent event) {
+        if (event.type() != OrderItemDeltaType.ORDER_CLOSED) return;
+        OrderEntity order = orderRepository.findById(event.orderId()).orElse(null);
+        if (order == null || order.getCreatedDate() == null) return;
+        LocalDate day = order.getCreatedDate().toLocalDateTime().toLocalDate();
+        revenueRollupRepository.addRevenue(event.branchId(), day, day.withDayOfMonth(1), day.withDayOfYear(1),
+                order.getTotal());
+    }
+
+    @Override
+    public void rebuild() {
+        Timestamp first = revenueRollupRepository.findFirstPaidDate();
+        if (first == null) return;
+        rebuild(first.toLocalDateTime().toLocalDate(), LocalDate.now().plusDays(1));
+    }
+
+    /**
+     * Recomputes the days in {@code [from, to)} from {@code orders}, then the months and
+     * years containing them from their day and month rows.
+     */
+    @Override
+    public void rebuild(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) return;
+        LocalDate monthFrom = from.withDayOfMonth(1);
+        LocalDate monthTo = to.minusDays(1).withDayOfMonth(1).plusMonths(1);
+        LocalDate yearFrom = from.withDayOfYear(1);
+        LocalDate yearTo = to.minusDays(1).withDayOfYear(1).plusYears(1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            revenueRollupRepository.deleteRollups(RevenueGrain.DAY.name(), from, to);
+            revenueRollupRepository.rebuildDays(Timestamp.valueOf(from.atStartOfDay()),
+                    Timestamp.valueOf(to.atStartOfDay()));
+            revenueRollupRepository.deleteRollups(RevenueGrain.MONTH.name(), monthFrom, monthTo);
+            revenueRollupRepository.rebuildMonths(monthFrom, monthTo);
+            revenueRollupRepository.deleteRollups(RevenueGrain.YEAR.name(), yearFrom, yearTo);
+            revenueRollupRepository.rebuildYears(yearFrom, yearTo);
+        });
+        log.info("Rebuilt revenue rollups from {} to {}", from, to);
+    }
+
+    @Scheduled(cron = "${order.revenue.rebuild-cron:0 0 4 * * *}")
+    public void rebuildRecent() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        rebuild(tomorrow.minusDays(rebuildDays + 1L), tomorrow);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (revenueRollupRepository.count() == 0) rebuild();
+    }
+}
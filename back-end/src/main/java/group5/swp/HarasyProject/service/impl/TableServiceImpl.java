@@ -9,6 +9,8 @@ import group5.swp.HarasyProject.exception.AppException;
 import group5.swp.HarasyProject.exception.ErrorCode;
 import group5.swp.HarasyProject.mapper.TableMapper;
 import group5.swp.HarasyProject.repository.TableRepository;
+import group5.swp.HarasyProject.service.ReservationHoldService;
+import group5.swp.HarasyProject.service.ReservationOccupancyService;
 import group5.swp.HarasyProject.service.TableService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +20,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -28,7 +32,8 @@ public class TableServiceImpl implements TableService {
 
     TableRepository tableRepository;
     TableMapper tableMapper;
-
+    ReservationOccupancyService reservationOccupancyService;
+    ReservationHoldService reservationHoldService;
 
     @Override
     public ApiResponse<?> deleteTable(int tableId) {
@@ -36,6 +41,7 @@ public class TableServiceImpl implements TableService {
                 .orElseThrow(()-> new AppException(ErrorCode.TABLE_NOT_FOUND));
         tableEntity.setStatus(TableStatus.DELETED);
         tableRepository.save(tableEntity);
+        reservationOccupancyService.evictTables(tableEntity.getBranch().getId());
         return ApiResponse.<TableResponse>builder()
                 .build();
     }
@@ -58,6 +64,7 @@ public class TableServiceImpl implements TableService {
                 .orElseThrow(()-> new AppException(ErrorCode.TABLE_NOT_FOUND));
         tableEntity = tableMapper.updateTable(request,tableEntity);
         tableEntity = tableRepository.save(tableEntity);
+        reservationOccupancyService.evictTables(tableEntity.getBranch().getId());
         TableResponse tableResponse = tableMapper.toResponse(tableEntity);
         return ApiResponse.<TableResponse>builder()
                 .data(tableResponse)
@@ -77,6 +84,10 @@ public class TableServiceImpl implements TableService {
     @Override
     public void saveUpdate(List<TableEntity> tables) {
         tableRepository.saveAll(tables);
+        tables.stream()
+                .map(table -> table.getBranch().getId())
+                .distinct()
+                .forEach(reservationOccupancyService::evictTables);
     }
 
     @Override
@@ -85,10 +96,18 @@ public class TableServiceImpl implements TableService {
     }
 
     @Override
-    public List<TableEntity> getAllTablesAvailableToReserve(int branchId, LocalDate date, LocalTime time) {
-        LocalTime minTime = time.minusMinutes(90);
-        LocalTime maxTime = time.plusMinutes(90);
-        return tableRepository.getAvailableForReserve(branchId,date,minTime,maxTime);
+    public List<TableEntity> getReservableTables(int branchId) {
+        return tableRepository.getReservableTables(branchId);
+    }
+
+    @Override
+    public List<TableEntity> getAllTablesAvailableToReserve(int branchId, LocalDate date, LocalTime time, int minutes) {
+        Set<Integer> heldTableIds = reservationHoldService.getHeldTableIds(branchId, date, time, minutes);
+        List<Integer> tableIds = reservationOccupancyService.getFreeTableIds(branchId, date, time, minutes);
+        return tableRepository.findAllById(tableIds)
+                .stream().filter(table -> !heldTableIds.contains(table.getId()))
+                .sorted(Comparator.comparingInt(TableEntity::getCapacity).reversed())
+                .toList();
     }
 
     @Override
@@ -0,0 +1,192 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.dto.response.reservation.WaitlistEntryResponse;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.WaitlistEntryEntity;
+import group5.swp.HarasyProject.enums.WaitlistStatus;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.repository.WaitlistEntryRepository;
+import group5.swp.HarasyProject.service.RedisService;
+import group5.swp.HarasyProject.service.WaitlistService;
+import group5.swp.HarasyProject.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one priority queue of waiting parties per branch, date and time in a Redis
+ * sorted set. The score puts larger parties first and earlier entries first within the
+ * same size, so the best fit for a freed capacity is one reverse range lookup. Queues
+ * fall back to in-memory skip lists while Redis is unreachable.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+@RequiredArgsConstructor
+public class WaitlistServiceImpl implements WaitlistService {
+    static final double GUEST_WEIGHT = 1_000_000_000d;
+    static final long MAX_SEQUENCE = 999_999_999L;
+
+    WaitlistEntryRepository waitlistEntryRepository;
+    RedisService redisService;
+
+    Map<String, ConcurrentSkipListMap<Double, String>> localQueues = new ConcurrentHashMap<>();
+    AtomicLong localSequence = new AtomicLong();
+
+    @Override
+    public WaitlistEntryEntity addEntry(WaitlistEntryEntity entry) {
+        entry.setStatus(WaitlistStatus.WAITING);
+        WaitlistEntryEntity saved = waitlistEntryRepository.save(entry);
+        TransactionUtil.afterCommit(() -> enqueue(saved));
+        return saved;
+    }
+
+    @Override
+    public WaitlistEntryEntity cancelEntry(int entryId) {
+        WaitlistEntryEntity entry = waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new AppException(ErrorCode.WAITLIST_ENTRY_NOT_FOUND));
+        if (!entry.getStatus().equals(WaitlistStatus.WAITING)) return entry;
+        entry.setStatus(WaitlistStatus.CANCELED);
+        entry = waitlistEntryRepository.save(entry);
+        String day = dayKey(entry.getBranch().getId(), entry.getDate());
+        String time = entry.getTime().toString();
+        String member = entry.getId().toString();
+        TransactionUtil.afterCommit(() -> dequeue(day, time, member));
+        return entry;
+    }
+
+    @Override
+    public List<LocalTime> getWaitingTimes(int branchId, LocalDate date) {
+        String day = dayKey(branchId, date);
+        Set<String> times = new TreeSet<>();
+        try {
+            times.addAll(redisService.getWaitlistTimes(day));
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, reading waitlist of {} from memory", day);
+        }
+        localQueues.forEach((queue, entries) -> {
+            if (queue.startsWith(day + "|") && !entries.isEmpty()) times.add(queue.substring(day.length() + 1));
+        });
+        return times.stream().map(LocalTime::parse).toList();
+    }
+
+    @Override
+    public Optional<WaitlistEntryEntity> pollBestFit(int branchId, LocalDate date, LocalTime time, int capacity) {
+        String day = dayKey(branchId, date);
+        String slot = time.toString();
+        double maxScore = capacity * GUEST_WEIGHT + MAX_SEQUENCE;
+        while (true) {
+            Map.Entry<Double, String> polled = pollRedis(day, slot, maxScore);
+            if (polled == null) polled = pollLocal(day, slot, maxScore);
+            if (polled == null) return Optional.empty();
+            Optional<WaitlistEntryEntity> entry = waitlistEntryRepository.findById(Integer.valueOf(polled.getValue()))
+                    .filter(found -> found.getStatus().equals(WaitlistStatus.WAITING));
+            if (entry.isPresent()) {
+                // Put the party back with its old score so it keeps its place in the queue.
+                Map.Entry<Double, String> requeued = polled;
+                TransactionUtil.afterRollback(() -> requeue(day, slot, requeued.getValue(), requeued.getKey()));
+                return entry;
+            }
+        }
+    }
+
+    @Override
+    public void markPromoted(WaitlistEntryEntity entry, ReservationEntity reservation) {
+        entry.setStatus(WaitlistStatus.PROMOTED);
+        entry.setReservation(reservation);
+        waitlistEntryRepository.save(entry);
+    }
+
+    @Override
+    public WaitlistEntryResponse toResponse(WaitlistEntryEntity entry) {
+        return WaitlistEntryResponse.builder()
+                .id(entry.getId())
+                .branchId(entry.getBranch().getId())
+                .date(entry.getDate())
+                .time(entry.getTime())
+                .amountGuest(entry.getAmountGuest())
+                .status(entry.getStatus())
+                .reservationId(entry.getReservation() != null ? entry.getReservation().getId() : null)
+                .build();
+    }
+
+    private void enqueue(WaitlistEntryEntity entry) {
+        String day = dayKey(entry.getBranch().getId(), entry.getDate());
+        String time = entry.getTime().toString();
+        String member = entry.getId().toString();
+        try {
+            double score = score(entry.getAmountGuest(), redisService.nextWaitlistSequence());
+            redisService.addWaitlistEntry(day, time, member, score);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, keeping waitlist entry {} in memory", member);
+            double score = score(entry.getAmountGuest(), localSequence.incrementAndGet());
+            localQueues.computeIfAbsent(day + "|" + time, key -> new ConcurrentSkipListMap<>()).put(score, member);
+        }
+    }
+
+    private void requeue(String day, String time, String member, double score) {
+        try {
+            redisService.addWaitlistEntry(day, time, member, score);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, keeping waitlist entry {} in memory", member);
+            localQueues.computeIfAbsent(day + "|" + time, key -> new ConcurrentSkipListMap<>()).put(score, member);
+        }
+    }
+
+    private void dequeue(String day, String time, String member) {
+        try {
+            redisService.removeWaitlistEntry(day, time, member);
+            redisService.removeWaitlistTimeIfEmpty(day, time);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, waitlist entry {} is skipped when polled", member);
+        }
+        ConcurrentSkipListMap<Double, String> queue = localQueues.get(day + "|" + time);
+        if (queue != null) queue.values().remove(member);
+    }
+
+    private Map.Entry<Double, String> pollRedis(String day, String time, double maxScore) {
+        try {
+            while (true) {
+                String member = redisService.findBestWaitlistEntry(day, time, maxScore);
+                if (member == null) {
+                    redisService.removeWaitlistTimeIfEmpty(day, time);
+                    return null;
+                }
+                Double score = redisService.getWaitlistScore(day, time, member);
+                if (score != null && redisService.removeWaitlistEntry(day, time, member)) return Map.entry(score, member);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, polling waitlist of {} {} from memory", day, time);
+            return null;
+        }
+    }
+
+    private Map.Entry<Double, String> pollLocal(String day, String time, double maxScore) {
+        ConcurrentSkipListMap<Double, String> queue = localQueues.get(day + "|" + time);
+        if (queue == null) return null;
+        while (true) {
+            Map.Entry<Double, String> best = queue.floorEntry(maxScore);
+            if (best == null) return null;
+            if (queue.remove(best.getKey(), best.getValue())) return best;
+        }
+    }
+
+    private static double score(int amountGuest, long sequence) {
+        return amountGuest * GUEST_WEIGHT + (MAX_SEQUENCE - sequence % MAX_SEQUENCE);
+    }
+
+    private static String dayKey(int branchId, LocalDate date) {
+        return branchId + ":" + date;
+    }
+}
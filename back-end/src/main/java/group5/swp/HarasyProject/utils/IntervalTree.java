@@ -0,0 +1,63 @@
+package group5.swp.HarasyProject.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable set of half-open integer intervals {@code [start, end)} answering overlap
+ * queries. Intervals are sorted by start and viewed as an implicit balanced tree whose
+ * nodes carry the largest end below them, so subtrees ending before a query are skipped.
+ */
+public final class IntervalTree {
+    static final IntervalTree EMPTY = new IntervalTree(new int[0], new int[0]);
+
+    final int[] starts;
+    final int[] ends;
+    final int[] maxEnds;
+
+    private IntervalTree(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new int[starts.length];
+        fillMaxEnds(0, starts.length);
+    }
+
+    public static IntervalTree of(List<int[]> intervals) {
+        if (intervals.isEmpty()) return EMPTY;
+        int[][] sorted = intervals.toArray(new int[0][]);
+        Arrays.sort(sorted, Comparator.comparingInt(interval -> interval[0]));
+        int[] starts = new int[sorted.length];
+        int[] ends = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            starts[i] = sorted[i][0];
+            ends[i] = sorted[i][1];
+        }
+        return new IntervalTree(starts, ends);
+    }
+
+    public boolean overlaps(int start, int end) {
+        return start < end && overlaps(0, starts.length, start, end);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    private boolean overlaps(int lo, int hi, int start, int end) {
+        if (lo >= hi) return false;
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= start) return false;
+        if (starts[mid] < end && ends[mid] > start) return true;
+        if (overlaps(lo, mid, start, end)) return true;
+        // Everything right of mid starts no earlier than mid itself.
+        return starts[mid] < end && overlaps(mid + 1, hi, start, end);
+    }
+
+    private int fillMaxEnds(int lo, int hi) {
+        if (lo >= hi) return Integer.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(fillMaxEnds(lo, mid), fillMaxEnds(mid + 1, hi)));
+        return maxEnds[mid];
+    }
+}
@@ -0,0 +1,84 @@
+package group5.swp.HarasyProject.mapper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import group5.swp.HarasyProject.dto.response.ApiResponse;
+import group5.swp.HarasyProject.dto.response.revenue.DailyRevenueResponse;
+import group5.swp.HarasyProject.dto.response.revenue.RevenueSeriesResponse;
+import group5.swp.HarasyProject.model.RevenuePoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the typed revenue rows and the columnar series against the old serialization,
+ * one {@code Map.of} per {@code Object[]} row, through the same Jackson settings as the
+ * application.
+ */
+class RevenueSerializationTest {
+    static final int POINTS = 366;
+
+    ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    RevenueMapper revenueMapper = new RevenueMapperImpl();
+    List<Object[]> rows = new ArrayList<>();
+    List<RevenuePoint> points = new ArrayList<>();
+
+    RevenueSerializationTest() {
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < POINTS; i++) {
+            long revenue = 1_000_000L + i * 7_919L;
+            rows.add(new Object[]{day.plusDays(i), revenue});
+            points.add(new RevenuePoint(day.plusDays(i), revenue));
+        }
+    }
+
+    private String oldRows() throws Exception {
+        List<Map<String, Object>> response = new ArrayList<>();
+        rows.forEach(record -> response.add(Map.of("day", record[0], "revenue", record[1])));
+        return objectMapper.writeValueAsString(ApiResponse.builder()
+                .data(response)
+                .build());
+    }
+
+    private String typedRows() throws Exception {
+        return objectMapper.writeValueAsString(ApiResponse.<List<DailyRevenueResponse>>builder()
+                .data(revenueMapper.toDaily(points))
+                .build());
+    }
+
+    private String columnar() throws Exception {
+        return objectMapper.writeValueAsString(ApiResponse.<RevenueSeriesResponse>builder()
+                .data(revenueMapper.toDailySeries(points))
+                .build());
+    }
+
+    @Test
+    void typedRowsKeepTheOldJson() throws Exception {
+        assertEquals(objectMapper.readTree(oldRows()), objectMapper.readTree(typedRows()));
+    }
+
+    @Test
+    void columnarSeriesMatchesTheRows() throws Exception {
+        RevenueSeriesResponse series = objectMapper.readValue(columnar(),
+                new TypeReference<ApiResponse<RevenueSeriesResponse>>() {
+                }).getData();
+        assertEquals(POINTS, series.getDays().size());
+        assertEquals(POINTS, series.getRevenue().length);
+        for (int i = 0; i < POINTS; i++) {
+            assertEquals(points.get(i).periodStart(), series.getDays().get(i));
+            assertEquals(points.get(i).revenue(), series.getRevenue()[i]);
+        }
+        assertTrue(columnar().length() < typedRows().length());
+    }
+}
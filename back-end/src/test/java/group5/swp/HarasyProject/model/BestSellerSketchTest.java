@@ -0,0 +1,93 @@
+package group5.swp.HarasyProject.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BestSellerSketchTest {
+    static final LocalDate START = LocalDate.of(2026, 3, 1);
+
+    private static BestSellerSketch.Sale sale(int foodId, long revenue) {
+        return new BestSellerSketch.Sale(foodId, "food-" + foodId, revenue, 1);
+    }
+
+    private static List<Integer> foodIds(List<BestSellerSketch.Sale> sales) {
+        return sales.stream().map(BestSellerSketch.Sale::foodId).toList();
+    }
+
+    @Test
+    void topIsOrderedByRevenueThenFoodId() {
+        BestSellerSketch sketch = new BestSellerSketch(START, 8);
+        sketch.add(sale(4, 300));
+        sketch.add(sale(2, 500));
+        sketch.add(sale(3, 300));
+        sketch.add(sale(1, 100));
+
+        assertEquals(List.of(2, 3, 4, 1), foodIds(sketch.top(10)));
+        assertEquals(List.of(2, 3), foodIds(sketch.top(2)));
+    }
+
+    @Test
+    void repeatedSalesOfAFoodAreSummed() {
+        BestSellerSketch sketch = new BestSellerSketch(START, 8);
+        sketch.add(new BestSellerSketch.Sale(1, "Pho", 100, 2));
+        sketch.add(new BestSellerSketch.Sale(1, "Pho bo", 150, 3));
+        sketch.add(sale(2, 200));
+
+        BestSellerSketch.Sale top = sketch.top(1).getFirst();
+        assertEquals(1, top.foodId());
+        assertEquals("Pho bo", top.foodName());
+        assertEquals(250, top.revenue());
+        assertEquals(5, top.quantity());
+    }
+
+    @Test
+    void evictedFoodIsCountedAgainFromItsReturn() {
+        BestSellerSketch sketch = new BestSellerSketch(START, 2);
+        sketch.add(sale(1, 100));
+        sketch.add(sale(2, 50));
+        sketch.add(sale(3, 10));
+        sketch.add(sale(2, 20));
+
+        // Food 3 took food 2's counter and lost it back; food 2's first 50 were dropped with it.
+        List<BestSellerSketch.Sale> top = sketch.top(5);
+        assertEquals(List.of(1, 2), foodIds(top));
+        assertEquals(20, top.get(1).revenue());
+        assertEquals(1, top.get(1).quantity());
+    }
+
+    @Test
+    void sketchNeverTracksMoreFoodsThanItsCapacity() {
+        BestSellerSketch sketch = new BestSellerSketch(START, 4);
+        for (int foodId = 1; foodId <= 1_000; foodId++) sketch.add(sale(foodId, foodId));
+
+        List<BestSellerSketch.Sale> top = sketch.top(10);
+        assertEquals(4, top.size());
+        // Every counted food reports only what it sold since it took its counter.
+        top.forEach(sale -> assertEquals(sale.foodId(), sale.revenue()));
+    }
+
+    @Test
+    void heavyHitterSurvivesAStreamOfRareFoods() {
+        BestSellerSketch sketch = new BestSellerSketch(START, 4);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(sale(1, 40));
+            sketch.add(sale(100 + i, 10));
+        }
+
+        assertEquals(1, sketch.top(1).getFirst().foodId());
+        assertEquals(4000, sketch.top(1).getFirst().revenue());
+        assertEquals(4, sketch.top(10).size());
+    }
+
+    @Test
+    void emptySketchHasNoTop() {
+        BestSellerSketch sketch = new BestSellerSketch(START, 4);
+
+        assertTrue(sketch.top(3).isEmpty());
+        assertEquals(START, sketch.getStart());
+    }
+}
@@ -0,0 +1,91 @@
+package group5.swp.HarasyProject.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayOccupancyTest {
+
+    @Test
+    void slotMaskCoversEveryTouchedSlot() {
+        assertEquals(0b1L, DayOccupancy.slotMask(0, 30));
+        assertEquals(0b10L, DayOccupancy.slotMask(30, 60));
+        assertEquals(0b11L, DayOccupancy.slotMask(15, 45));
+        assertEquals(0b110L, DayOccupancy.slotMask(30, 90));
+    }
+
+    @Test
+    void slotMaskStopsAtTheLastSlotOfTheDay() {
+        long lastSlot = 1L << (DayOccupancy.SLOTS_PER_DAY - 1);
+        assertEquals(lastSlot, DayOccupancy.slotMask(23 * 60 + 30, 24 * 60));
+        assertEquals(lastSlot, DayOccupancy.slotMask(23 * 60 + 30, 25 * 60));
+        assertEquals(lastSlot >>> 1 | lastSlot, DayOccupancy.slotMask(23 * 60, 26 * 60));
+    }
+
+    @Test
+    void bookingOfConvertsTimeToMinutesFromMidnight() {
+        DayOccupancy.Booking booking = DayOccupancy.Booking.of(LocalTime.of(18, 15), 90, List.of(3, 5));
+        assertEquals(18 * 60 + 15, booking.start());
+        assertEquals(18 * 60 + 15 + 90, booking.end());
+        assertArrayEquals(new int[]{3, 5}, booking.tableIds());
+    }
+
+    @Test
+    void backToBackBookingsDoNotConflict() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.put(1, DayOccupancy.Booking.of(LocalTime.of(18, 0), 90, List.of(7)));
+
+        assertTrue(occupancy.isFree(7, LocalTime.of(19, 30), 60));
+        assertTrue(occupancy.isFree(7, LocalTime.of(17, 0), 60));
+        assertFalse(occupancy.isFree(7, LocalTime.of(19, 0), 60));
+        assertFalse(occupancy.isFree(7, LocalTime.of(17, 30), 31));
+        assertTrue(occupancy.isFree(8, LocalTime.of(18, 0), 90));
+    }
+
+    @Test
+    void sharedSlotWithoutOverlapIsFree() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.put(1, DayOccupancy.Booking.of(LocalTime.of(18, 0), 45, List.of(7)));
+
+        assertTrue(occupancy.isFree(7, LocalTime.of(18, 45), 15));
+        assertFalse(occupancy.isFree(7, LocalTime.of(18, 40), 15));
+    }
+
+    @Test
+    void lateBookingBlocksTheEndOfTheDay() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.putAll(Map.of(1, DayOccupancy.Booking.of(LocalTime.of(23, 0), 120, List.of(7))));
+
+        assertFalse(occupancy.isFree(7, LocalTime.of(23, 45), 15));
+        assertTrue(occupancy.isFree(7, LocalTime.of(21, 0), 120));
+    }
+
+    @Test
+    void stayPastMidnightBlocksTheFirstSlotsOfTheNextDay() {
+        DayOccupancy.Booking late = DayOccupancy.Booking.of(LocalTime.of(23, 30), 90, List.of(7));
+        assertTrue(late.endsAfterMidnight());
+        assertFalse(DayOccupancy.Booking.of(LocalTime.of(22, 30), 90, List.of(7)).endsAfterMidnight());
+
+        DayOccupancy nextDay = new DayOccupancy();
+        nextDay.put(1, late.onNextDay());
+
+        assertFalse(nextDay.isFree(7, LocalTime.of(0, 0), 30));
+        assertFalse(nextDay.isFree(7, LocalTime.of(0, 30), 30));
+        assertTrue(nextDay.isFree(7, LocalTime.of(1, 0), 90));
+        assertTrue(nextDay.isFree(8, LocalTime.of(0, 0), 90));
+    }
+
+    @Test
+    void removedBookingFreesItsTables() {
+        DayOccupancy occupancy = new DayOccupancy();
+        occupancy.put(1, DayOccupancy.Booking.of(LocalTime.of(18, 0), 90, List.of(7, 8)));
+        occupancy.remove(1);
+
+        assertTrue(occupancy.isFree(7, LocalTime.of(18, 0), 90));
+        assertTrue(occupancy.isFree(8, LocalTime.of(18, 0), 90));
+    }
+}
@@ -0,0 +1,35 @@
+package group5.swp.HarasyProject.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationHoldTest {
+
+    private static ReservationHold hold(LocalTime time, int minutes, List<Integer> tableIds) {
+        return new ReservationHold("token", 1, LocalDate.of(2026, 3, 14), time, minutes, 4, tableIds, 0L);
+    }
+
+    @Test
+    void slotKeysCoverEveryTableAndSlot() {
+        assertEquals(List.of("3:2026-03-14:36", "3:2026-03-14:37", "3:2026-03-14:38",
+                        "5:2026-03-14:36", "5:2026-03-14:37", "5:2026-03-14:38"),
+                hold(LocalTime.of(18, 0), 90, List.of(3, 5)).slotKeys());
+    }
+
+    @Test
+    void slotKeysContinueOnTheNextDayPastMidnight() {
+        assertEquals(List.of("3:2026-03-14:47", "3:2026-03-15:0", "3:2026-03-15:1"),
+                hold(LocalTime.of(23, 30), 90, List.of(3)).slotKeys());
+    }
+
+    @Test
+    void encodeRoundTrips() {
+        ReservationHold hold = hold(LocalTime.of(18, 0), 90, List.of(3, 5));
+        assertEquals(hold, ReservationHold.decode(hold.encode()));
+    }
+}
@@ -0,0 +1,94 @@
+package group5.swp.HarasyProject.repository;
+
+import group5.swp.HarasyProject.entity.branch.BranchEntity;
+import group5.swp.HarasyProject.enums.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the plan of {@link RevenueRollupRepository#rebuildDays}: after seeding a year of
+ * orders it must stay a range scan of {@code idx_orders_status_created}. Runs against the
+ * configured database like {@code contextLoads}.
+ */
+@SpringBootTest
+class RevenueRollupRepositoryExplainTest {
+    static final int DAYS = 365;
+    static final int ORDERS_PER_DAY = 20;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    BranchRepository branchRepository;
+
+    BranchEntity branch;
+    LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        String name = "explain-" + UUID.randomUUID();
+        branch = branchRepository.save(BranchEntity.builder()
+                .name(name)
+                .location(name)
+                .image(name)
+                .phone("0000000000")
+                .status(Status.ACTIVE)
+                .build());
+        today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            LocalDateTime opening = today.minusDays(day).atTime(10, 0);
+            for (int i = 0; i < ORDERS_PER_DAY; i++) {
+                rows.add(new Object[]{branch.getId(), i % 4 == 0 ? "PENDING" : "PAYED", 100_000L + i,
+                        Timestamp.valueOf(opening.plusMinutes(30L * i))});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into orders (branch_id, payment_status, total, total_points, item_count,
+                                    cooked_item_count, paid_amount, paid_points, created_date, note)
+                values (?, ?, ?, 0, 0, 0, 0, 0, ?, '')
+                """, rows);
+        jdbcTemplate.execute("analyze table orders");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from orders where branch_id = ?", branch.getId());
+        branchRepository.delete(branch);
+    }
+
+    @Test
+    void rebuildDaysRangeScansTheStatusCreatedIndex() throws Exception {
+        String sql = RevenueRollupRepository.class
+                .getMethod("rebuildDays", Timestamp.class, Timestamp.class)
+                .getAnnotation(Query.class).value()
+                .replace(":from", "?")
+                .replace(":to", "?");
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql,
+                Timestamp.valueOf(today.minusDays(7).atStartOfDay()),
+                Timestamp.valueOf(today.plusDays(1).atStartOfDay()));
+
+        Map<String, Object> orders = plan.stream()
+                .filter(row -> "o".equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for orders: " + plan));
+        assertEquals("idx_orders_status_created", orders.get("key"), plan.toString());
+        assertEquals("range", orders.get("type"), plan.toString());
+        assertTrue(String.valueOf(orders.get("Extra")).contains("Using index"), plan.toString());
+    }
+}
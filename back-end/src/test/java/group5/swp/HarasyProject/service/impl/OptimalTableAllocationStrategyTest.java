@@ -0,0 +1,116 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the solver with the greedy allocation on generated branches of 20 to 200
+ * tables.
+ */
+class OptimalTableAllocationStrategyTest {
+    static final int[] CAPACITIES = {2, 2, 4, 4, 4, 6, 8, 10};
+    static final long TIME_BUDGET_MS = 20;
+    // Scheduling noise on a busy machine; the solver itself stops at the budget.
+    static final long SLACK_MS = 200;
+
+    OptimalTableAllocationStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new OptimalTableAllocationStrategy();
+        ReflectionTestUtils.setField(strategy, "timeBudgetMs", TIME_BUDGET_MS);
+    }
+
+    @Test
+    void neverWastesMoreSeatsThanGreedy() {
+        Random random = new Random(7);
+        int branchId = 0;
+        long optimalWaste = 0;
+        long greedyWaste = 0;
+        for (int size = 20; size <= 200; size += 20) {
+            for (int round = 0; round < 5; round++) {
+                List<TableEntity> tables = tables(random, size);
+                int totalCapacity = tables.stream().mapToInt(TableEntity::getCapacity).sum();
+                for (int guests = 1; guests <= Math.min(totalCapacity, 40); guests += 3) {
+                    List<TableEntity> greedy = GreedyTableAllocationStrategy.allocateGreedy(tables, guests);
+                    List<TableEntity> optimal = strategy.allocate(++branchId, tables, guests);
+
+                    int optimalSeats = seats(optimal);
+                    int greedySeats = seats(greedy);
+                    assertTrue(optimalSeats >= guests, size + " tables, " + guests + " guests");
+                    assertTrue(optimalSeats <= greedySeats, size + " tables, " + guests + " guests");
+                    if (optimalSeats == greedySeats) assertTrue(optimal.size() <= greedy.size());
+                    assertEquals(optimal.size(), optimal.stream().distinct().count());
+                    optimalWaste += optimalSeats - guests;
+                    greedyWaste += greedySeats - guests;
+                }
+            }
+        }
+        assertTrue(optimalWaste < greedyWaste, optimalWaste + " vs " + greedyWaste);
+    }
+
+    @Test
+    void staysWithinTheTimeBudget() {
+        Random random = new Random(11);
+        int branchId = 0;
+        for (int round = 0; round < 20; round++) {
+            List<TableEntity> tables = tables(random, 200);
+            int guests = 50 + random.nextInt(150);
+            long started = System.nanoTime();
+            List<TableEntity> allocated = strategy.allocate(++branchId, tables, guests);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+            assertTrue(seats(allocated) >= guests);
+            assertTrue(elapsedMs <= TIME_BUDGET_MS + SLACK_MS, elapsedMs + " ms");
+        }
+    }
+
+    @Test
+    void fallsBackToGreedyWithoutBudget() {
+        ReflectionTestUtils.setField(strategy, "timeBudgetMs", -1L);
+        List<TableEntity> tables = tables(new Random(3), 50);
+
+        assertEquals(GreedyTableAllocationStrategy.allocateGreedy(tables, 17), strategy.allocate(1, tables, 17));
+    }
+
+    @Test
+    void greedyFallbackIsNotMemoized() {
+        List<TableEntity> tables = List.of(table(1, 4), table(2, 4), table(3, 6));
+        ReflectionTestUtils.setField(strategy, "timeBudgetMs", -1L);
+        assertEquals(10, seats(strategy.allocate(1, tables, 8)));
+
+        ReflectionTestUtils.setField(strategy, "timeBudgetMs", TIME_BUDGET_MS);
+        assertEquals(8, seats(strategy.allocate(1, tables, 8)));
+    }
+
+    @Test
+    void returnsNothingWhenTheBranchIsTooSmall() {
+        List<TableEntity> tables = List.of(table(1, 4), table(2, 2));
+
+        assertTrue(strategy.allocate(1, tables, 7).isEmpty());
+        assertEquals(List.of(tables.get(1)), strategy.allocate(1, tables, 2));
+    }
+
+    private static List<TableEntity> tables(Random random, int size) {
+        List<TableEntity> tables = new ArrayList<>();
+        for (int id = 1; id <= size; id++) tables.add(table(id, CAPACITIES[random.nextInt(CAPACITIES.length)]));
+        return tables;
+    }
+
+    private static TableEntity table(int id, int capacity) {
+        return TableEntity.builder().id(id).number(id).capacity(capacity).build();
+    }
+
+    private static int seats(List<TableEntity> tables) {
+        return tables.stream().mapToInt(TableEntity::getCapacity).sum();
+    }
+}
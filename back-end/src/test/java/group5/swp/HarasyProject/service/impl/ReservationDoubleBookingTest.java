@@ -0,0 +1,188 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.branch.BranchEntity;
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.entity.order.OrderEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationTypeEntity;
+import group5.swp.HarasyProject.enums.PaymentStatus;
+import group5.swp.HarasyProject.enums.ReservationStatus;
+import group5.swp.HarasyProject.enums.ReservationType;
+import group5.swp.HarasyProject.enums.Status;
+import group5.swp.HarasyProject.enums.TableStatus;
+import group5.swp.HarasyProject.exception.AppException;
+import group5.swp.HarasyProject.exception.ErrorCode;
+import group5.swp.HarasyProject.repository.BranchRepository;
+import group5.swp.HarasyProject.repository.ReservationTypeRepository;
+import group5.swp.HarasyProject.repository.TableRepository;
+import group5.swp.HarasyProject.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races concurrent bookings of one table against the slot-claim unique key. Runs against
+ * the configured database like {@code contextLoads}.
+ */
+@SpringBootTest
+class ReservationDoubleBookingTest {
+    static final int THREADS = 16;
+
+    @Autowired
+    ReservationService reservationService;
+    @Autowired
+    BranchRepository branchRepository;
+    @Autowired
+    TableRepository tableRepository;
+    @Autowired
+    ReservationTypeRepository reservationTypeRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    BranchEntity branch;
+    TableEntity table;
+    ReservationTypeEntity type;
+    LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        String name = "race-" + UUID.randomUUID();
+        branch = branchRepository.save(BranchEntity.builder()
+                .name(name)
+                .location(name)
+                .image(name)
+                .phone("0000000000")
+                .status(Status.ACTIVE)
+                .build());
+        table = tableRepository.save(TableEntity.builder()
+                .number(1)
+                .capacity(4)
+                .status(TableStatus.AVAILABLE)
+                .branch(branch)
+                .build());
+        type = reservationTypeRepository.save(ReservationTypeEntity.builder()
+                .name(ReservationType.GENERAL)
+                .diningMinutes(90)
+                .build());
+        date = LocalDate.now().plusDays(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        int branchId = branch.getId();
+        jdbcTemplate.update("""
+                delete c from reservation_slot_claim c
+                join reservation r on r.reservation_id = c.reservation_id
+                where r.branch_id = ?
+                """, branchId);
+        jdbcTemplate.update("""
+                delete rt from reservation_table rt
+                join reservation r on r.reservation_id = rt.reservation_id
+                where r.branch_id = ?
+                """, branchId);
+        jdbcTemplate.update("delete from reservation where branch_id = ?", branchId);
+        jdbcTemplate.update("delete from order_event where branch_id = ?", branchId);
+        jdbcTemplate.update("delete from order_summary where branch_id = ?", branchId);
+        jdbcTemplate.update("""
+                delete ot from orders_table ot
+                join orders o on o.order_id = ot.order_id
+                where o.branch_id = ?
+                """, branchId);
+        jdbcTemplate.update("delete from orders where branch_id = ?", branchId);
+        tableRepository.delete(table);
+        reservationTypeRepository.delete(type);
+        branchRepository.delete(branch);
+    }
+
+    @Test
+    void sameSlotIsBookedOnce() throws Exception {
+        List<Throwable> failures = race(index -> LocalTime.of(18, 0));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(this::assertAlreadyReserved);
+    }
+
+    @Test
+    void overlappingStaysAreBookedOnce() throws Exception {
+        List<Throwable> failures = race(index -> LocalTime.of(18, 0).plusMinutes(30L * (index % 3)));
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(this::assertAlreadyReserved);
+    }
+
+    private List<Throwable> race(StartTime startTime) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReservationEntity>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                ReservationEntity reservation = reservation(startTime.of(i));
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return reservationService.saveReservation(reservation);
+                }));
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<ReservationEntity> result : results) {
+                try {
+                    assertNotNull(result.get(30, TimeUnit.SECONDS).getId());
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertAlreadyReserved(Throwable failure) {
+        AppException exception = assertInstanceOf(AppException.class, failure);
+        assertEquals(ErrorCode.TABLE_ALREADY_RESERVED, exception.getErrorCode());
+    }
+
+    private ReservationEntity reservation(LocalTime time) {
+        return ReservationEntity.builder()
+                .date(date)
+                .time(time)
+                .amountGuest(2)
+                .status(ReservationStatus.APPROVED)
+                .branch(branch)
+                .type(type)
+                .tables(List.of(table))
+                .order(OrderEntity.builder()
+                        .paymentStatus(PaymentStatus.PENDING)
+                        .branch(branch)
+                        .tables(List.of(table))
+                        .orderItems(new ArrayList<>())
+                        .note("")
+                        .build())
+                .build();
+    }
+
+    @FunctionalInterface
+    interface StartTime {
+        LocalTime of(int index);
+    }
+}
@@ -0,0 +1,74 @@
+package group5.swp.HarasyProject.service.impl;
+
+import group5.swp.HarasyProject.entity.branch.TableEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationSlotClaimEntity;
+import group5.swp.HarasyProject.entity.reservation.ReservationTypeEntity;
+import group5.swp.HarasyProject.enums.ReservationStatus;
+import group5.swp.HarasyProject.enums.ReservationType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationServiceImplTest {
+    static final LocalDate DATE = LocalDate.of(2024, 12, 31);
+
+    @Test
+    void claimsEverySlotTouchedByTheStay() {
+        List<ReservationSlotClaimEntity> claims = ReservationServiceImpl.buildClaims(
+                reservation(LocalTime.of(18, 0), 90, ReservationStatus.APPROVED, table(1), table(2)));
+
+        assertEquals(6, claims.size());
+        assertEquals(List.of(36, 37, 38, 36, 37, 38), claims.stream().map(ReservationSlotClaimEntity::getSlot).toList());
+        assertEquals(List.of(1, 1, 1, 2, 2, 2), claims.stream().map(claim -> claim.getTable().getId()).toList());
+        assertTrue(claims.stream().allMatch(claim -> claim.getDate().equals(DATE)));
+    }
+
+    @Test
+    void partialLastSlotIsClaimed() {
+        List<ReservationSlotClaimEntity> claims = ReservationServiceImpl.buildClaims(
+                reservation(LocalTime.of(18, 0), 45, ReservationStatus.PENDING, table(1)));
+
+        assertEquals(List.of(36, 37), claims.stream().map(ReservationSlotClaimEntity::getSlot).toList());
+    }
+
+    @Test
+    void stayPastMidnightClaimsTheNextDay() {
+        List<ReservationSlotClaimEntity> claims = ReservationServiceImpl.buildClaims(
+                reservation(LocalTime.of(23, 30), 90, ReservationStatus.APPROVED, table(1)));
+
+        assertEquals(List.of(47, 0, 1), claims.stream().map(ReservationSlotClaimEntity::getSlot).toList());
+        assertEquals(List.of(DATE, DATE.plusDays(1), DATE.plusDays(1)),
+                claims.stream().map(ReservationSlotClaimEntity::getDate).toList());
+    }
+
+    @Test
+    void releasedReservationsClaimNothing() {
+        for (ReservationStatus status : List.of(ReservationStatus.DONE, ReservationStatus.CANCELED,
+                ReservationStatus.REJECTED)) {
+            assertTrue(ReservationServiceImpl.buildClaims(
+                    reservation(LocalTime.of(18, 0), 90, status, table(1))).isEmpty());
+        }
+        assertTrue(ReservationServiceImpl.buildClaims(
+                reservation(LocalTime.of(18, 0), 90, null, table(1))).isEmpty());
+    }
+
+    private static ReservationEntity reservation(LocalTime time, int minutes, ReservationStatus status,
+                                                 TableEntity... tables) {
+        return ReservationEntity.builder()
+                .date(DATE)
+                .time(time)
+                .status(status)
+                .type(ReservationTypeEntity.builder().name(ReservationType.GENERAL).diningMinutes(minutes).build())
+                .tables(List.of(tables))
+                .build();
+    }
+
+    private static TableEntity table(int id) {
+        return TableEntity.builder().id(id).capacity(4).build();
+    }
+}
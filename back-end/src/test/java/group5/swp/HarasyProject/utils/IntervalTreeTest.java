@@ -0,0 +1,68 @@
+package group5.swp.HarasyProject.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = IntervalTree.of(List.of(new int[]{10, 20}));
+
+        assertFalse(tree.overlaps(20, 30));
+        assertFalse(tree.overlaps(0, 10));
+        assertTrue(tree.overlaps(19, 30));
+        assertTrue(tree.overlaps(0, 11));
+        assertTrue(tree.overlaps(12, 15));
+        assertTrue(tree.overlaps(0, 40));
+    }
+
+    @Test
+    void emptyQueryNeverOverlaps() {
+        IntervalTree tree = IntervalTree.of(List.of(new int[]{10, 20}));
+
+        assertFalse(tree.overlaps(15, 15));
+        assertFalse(tree.overlaps(18, 12));
+    }
+
+    @Test
+    void emptyTreeHasNoOverlaps() {
+        IntervalTree tree = IntervalTree.of(List.of());
+
+        assertEquals(0, tree.size());
+        assertFalse(tree.overlaps(0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void longIntervalInLeftSubtreeIsFound() {
+        IntervalTree tree = IntervalTree.of(List.of(
+                new int[]{0, 100}, new int[]{10, 20}, new int[]{30, 40}, new int[]{50, 60}, new int[]{70, 80}));
+
+        assertTrue(tree.overlaps(85, 90));
+        assertFalse(tree.overlaps(100, 110));
+    }
+
+    @Test
+    void matchesLinearScanOnRandomIntervals() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<int[]> intervals = new ArrayList<>();
+            for (int i = random.nextInt(20); i > 0; i--) {
+                int start = random.nextInt(1440);
+                intervals.add(new int[]{start, start + 1 + random.nextInt(180)});
+            }
+            IntervalTree tree = IntervalTree.of(intervals);
+            for (int query = 0; query < 50; query++) {
+                int start = random.nextInt(1500);
+                int end = start + random.nextInt(120);
+                boolean expected = intervals.stream().anyMatch(interval -> interval[0] < end && interval[1] > start && start < end);
+                assertEquals(expected, tree.overlaps(start, end), "[" + start + ", " + end + ")");
+            }
+        }
+    }
+}